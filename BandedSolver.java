@@ -0,0 +1,315 @@
+package com.example;
+import java.util.Random;
+
+
+/**
+ * Решение СЛАУ с ленточной матрицей (kl поддиагоналей, ku наддиагоналей)
+ * LU-разложением в компактном ленточном хранении.
+ *
+ * Полная матрица n x n не создается: строка i хранит только элементы
+ * в столбцах i-kl .. i+ku+kl (дополнительные kl столбцов справа нужны
+ * для заполнения при выборе ведущего элемента). Память O(n*k), время O(n*k^2).
+ *
+ * Частный случай kl = ku = 2 - пятидиагональные системы, см. {@link #solvePentadiagonal}.
+ */
+public class BandedSolver {
+
+    /**
+     * Ленточная матрица в компактном хранении: элемент (i, j)
+     * лежит в band[i * width + (j - i + kl)], width = 2*kl + ku + 1.
+     */
+    public static final class Matrix {
+        private final int n;
+        private final int kl;
+        private final int ku;
+        private final int width;
+        private final double[] band;
+
+        /**
+         * @param n размерность
+         * @param kl число поддиагоналей
+         * @param ku число наддиагоналей
+         */
+        public Matrix(int n, int kl, int ku) {
+            if (n < 1 || kl < 0 || ku < 0) {
+                throw new IllegalArgumentException("Неверные параметры ленточной матрицы");
+            }
+            this.n = n;
+            this.kl = kl;
+            this.ku = ku;
+            this.width = 2 * kl + ku + 1;
+            this.band = new double[Math.multiplyExact(n, width)];
+        }
+
+        public int size() {
+            return n;
+        }
+
+        public int lowerBandwidth() {
+            return kl;
+        }
+
+        public int upperBandwidth() {
+            return ku;
+        }
+
+        /**
+         * Задает элемент (i, j); он должен лежать внутри ленты.
+         */
+        public void set(int i, int j, double value) {
+            if (i < 0 || i >= n || j < 0 || j >= n || j < i - kl || j > i + ku) {
+                throw new IndexOutOfBoundsException("Элемент (" + i + ", " + j + ") вне ленты");
+            }
+            band[index(i, j)] = value;
+        }
+
+        /**
+         * @return элемент (i, j); вне ленты - ноль
+         */
+        public double get(int i, int j) {
+            if (i < 0 || i >= n || j < 0 || j >= n) {
+                throw new IndexOutOfBoundsException("Элемент (" + i + ", " + j + ") вне матрицы");
+            }
+            return j < i - kl || j > i + ku ? 0 : band[index(i, j)];
+        }
+
+        private int index(int i, int j) {
+            return i * width + (j - i + kl);
+        }
+
+        /**
+         * Умножает матрицу на вектор: результат y = A * x
+         */
+        public double[] multiply(double[] x) {
+            if (x.length != n) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int j = Math.max(0, i - kl); j <= Math.min(n - 1, i + ku); j++) {
+                    sum += band[index(i, j)] * x[j];
+                }
+                y[i] = sum;
+            }
+            return y;
+        }
+    }
+
+    /**
+     * Строит LU-разложение ленточной матрицы (исходная матрица не изменяется).
+     *
+     * @param matrix ленточная матрица
+     * @param pivoting выбирать ли ведущий элемент по столбцу внутри ленты
+     * @return разложение, пригодное для многих правых частей
+     */
+    public static Factorization factor(Matrix matrix, boolean pivoting) {
+        return new Factorization(matrix, pivoting);
+    }
+
+    /**
+     * Решает систему A * x = d с выбором ведущего элемента
+     */
+    public static double[] solve(Matrix matrix, double[] d) {
+        return factor(matrix, true).solve(d);
+    }
+
+    /**
+     * Решает СЛАУ с пятидиагональной матрицей:
+     * e[i-2]*x[i-2] + a[i-1]*x[i-1] + b[i]*x[i] + c[i]*x[i+1] + f[i]*x[i+2] = d[i]
+     *
+     * @param e вторая поддиагональ (размер n-2)
+     * @param a первая поддиагональ (размер n-1)
+     * @param b главная диагональ (размер n)
+     * @param c первая наддиагональ (размер n-1)
+     * @param f вторая наддиагональ (размер n-2)
+     * @param d правая часть (размер n)
+     * @return решение системы x (размер n)
+     */
+    public static double[] solvePentadiagonal(double[] e, double[] a, double[] b, double[] c,
+                                              double[] f, double[] d) {
+        int n = b.length;
+
+        // Проверка размерностей
+        if (n < 3 || e.length != n - 2 || a.length != n - 1 || c.length != n - 1
+                || f.length != n - 2 || d.length != n) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+
+        Matrix matrix = new Matrix(n, 2, 2);
+        for (int i = 0; i < n; i++) {
+            matrix.set(i, i, b[i]);
+            if (i >= 1) matrix.set(i, i - 1, a[i - 1]);
+            if (i >= 2) matrix.set(i, i - 2, e[i - 2]);
+            if (i < n - 1) matrix.set(i, i + 1, c[i]);
+            if (i < n - 2) matrix.set(i, i + 2, f[i]);
+        }
+        return solve(matrix, d);
+    }
+
+    /**
+     * LU-разложение ленточной матрицы: L (единичная нижняя, kl поддиагоналей)
+     * хранится на месте поддиагоналей, U - на месте главной диагонали и
+     * ku наддиагоналей (ku + kl при выборе ведущего элемента).
+     */
+    public static final class Factorization {
+        private final int n;
+        private final int kl;
+        private final int width;
+        private final int upper;     // ширина ленты U
+        private final double[] lu;
+        private final int[] pivots;  // pivots[k] - строка, переставленная с k (null без выбора)
+
+        private Factorization(Matrix matrix, boolean pivoting) {
+            n = matrix.n;
+            kl = matrix.kl;
+            width = matrix.width;
+            upper = pivoting ? matrix.ku + matrix.kl : matrix.ku;
+            lu = matrix.band.clone();
+            pivots = pivoting ? new int[n] : null;
+
+            for (int k = 0; k < n; k++) {
+                int lastRow = Math.min(n - 1, k + kl);
+                int lastColumn = Math.min(n - 1, k + upper);
+
+                // Выбор ведущего элемента в столбце k внутри ленты
+                if (pivoting) {
+                    int p = k;
+                    for (int i = k + 1; i <= lastRow; i++) {
+                        if (Math.abs(lu[index(i, k)]) > Math.abs(lu[index(p, k)])) {
+                            p = i;
+                        }
+                    }
+                    pivots[k] = p;
+                    if (p != k) {
+                        for (int j = k; j <= lastColumn; j++) {
+                            double tmp = lu[index(k, j)];
+                            lu[index(k, j)] = lu[index(p, j)];
+                            lu[index(p, j)] = tmp;
+                        }
+                    }
+                }
+
+                double pivot = lu[index(k, k)];
+
+                // Проверка деления на ноль
+                if (Math.abs(pivot) < 1e-10) {
+                    throw new ArithmeticException("Деление на ноль. Метод не применим.");
+                }
+
+                // Исключение под ведущим элементом
+                for (int i = k + 1; i <= lastRow; i++) {
+                    double l = lu[index(i, k)] / pivot;
+                    lu[index(i, k)] = l;
+                    if (l != 0) {
+                        for (int j = k + 1; j <= lastColumn; j++) {
+                            lu[index(i, j)] -= l * lu[index(k, j)];
+                        }
+                    }
+                }
+            }
+        }
+
+        private int index(int i, int j) {
+            return i * width + (j - i + kl);
+        }
+
+        public int size() {
+            return n;
+        }
+
+        /**
+         * Решает систему для правой части d
+         */
+        public double[] solve(double[] d) {
+            double[] x = new double[n];
+            solve(d, x);
+            return x;
+        }
+
+        /**
+         * Решает систему для правой части d без выделения памяти.
+         *
+         * @param d правая часть (размер n)
+         * @param x массив для решения (размер n), допускается x == d
+         */
+        public void solve(double[] d, double[] x) {
+            if (d.length != n || x.length != n) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+            if (x != d) {
+                System.arraycopy(d, 0, x, 0, n);
+            }
+
+            // Прямой ход: L * y = P * d
+            for (int k = 0; k < n; k++) {
+                if (pivots != null && pivots[k] != k) {
+                    double tmp = x[k];
+                    x[k] = x[pivots[k]];
+                    x[pivots[k]] = tmp;
+                }
+                double xk = x[k];
+                int lastRow = Math.min(n - 1, k + kl);
+                for (int i = k + 1; i <= lastRow; i++) {
+                    x[i] -= lu[index(i, k)] * xk;
+                }
+            }
+
+            // Обратный ход: U * x = y
+            for (int k = n - 1; k >= 0; k--) {
+                double sum = x[k];
+                int lastColumn = Math.min(n - 1, k + upper);
+                for (int j = k + 1; j <= lastColumn; j++) {
+                    sum -= lu[index(k, j)] * x[j];
+                }
+                x[k] = sum / lu[index(k, k)];
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Решение ленточных СЛАУ ===\n");
+
+        // Пятидиагональная система со случайными коэффициентами
+        int n = 10;
+        Random random = new Random(42);
+        double[] e = new double[n - 2], a = new double[n - 1], b = new double[n];
+        double[] c = new double[n - 1], f = new double[n - 2], d = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = random.nextDouble();  // без диагонального преобладания - нужен выбор ведущего
+            d[i] = random.nextDouble() * 10;
+            if (i < n - 1) { a[i] = random.nextDouble(); c[i] = random.nextDouble(); }
+            if (i < n - 2) { e[i] = random.nextDouble(); f[i] = random.nextDouble(); }
+        }
+
+        double[] x = solvePentadiagonal(e, a, b, c, f, d);
+        System.out.println("Пятидиагональная система, решение:");
+        for (int i = 0; i < n; i++) {
+            System.out.printf("x[%d] = %.6f\n", i, x[i]);
+        }
+
+        // Проверка: невязка для ленты kl = 3, ku = 1 большого размера
+        n = 1_000_000;
+        Matrix matrix = new Matrix(n, 3, 1);
+        double[] rhs = new double[n];
+        for (int i = 0; i < n; i++) {
+            rhs[i] = random.nextDouble();
+            for (int j = Math.max(0, i - 3); j <= Math.min(n - 1, i + 1); j++) {
+                matrix.set(i, j, i == j ? 1 + random.nextDouble() : random.nextDouble());
+            }
+        }
+
+        long start = System.nanoTime();
+        Factorization lu = factor(matrix, true);
+        double[] solution = lu.solve(rhs);
+        double time = (System.nanoTime() - start) / 1e6;
+
+        double[] check = matrix.multiply(solution);
+        double maxResidual = 0;
+        for (int i = 0; i < n; i++) {
+            maxResidual = Math.max(maxResidual, Math.abs(check[i] - rhs[i]));
+        }
+        System.out.printf("\nЛента kl = 3, ku = 1, n = %d: %.1f мс, макс. невязка: %.2e\n",
+                n, time, maxResidual);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example;
+import java.util.Random;
+
+/**
+ * Пакетная прогонка для множества независимых трехдиагональных систем одного размера n.
+ *
+ * Системы хранятся вперемешку (structure-of-arrays): элемент i системы s лежит
+ * в ячейке [i * m + s], где m - число систем. Тогда на каждом шаге прогонки
+ * соседние системы лежат рядом в памяти, и рекуррентные формулы вычисляются
+ * для нескольких систем одновременно векторными инструкциями.
+ *
+ * Векторная версия подключается через {@link VectorSupport}; без нее используется
+ * скалярная версия с тем же расположением данных.
+ */
+public class BatchTridiagonalSolver {
+    /** Векторная пакетная прогонка (scratch используется под прогоночные коэффициенты) */
+    interface VectorKernel {
+        void solve(double[] a, double[] b, double[] c, double[] d,
+                   double[] x, double[] alpha, int n, int m);
+    }
+
+    /** Векторное ядро или null, если модуль jdk.incubator.vector недоступен */
+    private static final VectorKernel VECTOR =
+            VectorSupport.load(VectorKernel.class, "com.example.VectorBatchKernel");
+
+    /**
+     * Решает m независимых систем, хранящихся вперемешку.
+     * Решение записывается в x (допускается x == d), scratch - рабочий массив.
+     *
+     * @param a нижние диагонали (размер (n-1)*m)
+     * @param b главные диагонали (размер n*m)
+     * @param c верхние диагонали (размер (n-1)*m)
+     * @param d правые части (размер n*m)
+     * @param x массив для решений (размер n*m)
+     * @param scratch рабочий массив (размер не меньше n*m)
+     * @param m количество систем
+     */
+    public static void solve(double[] a, double[] b, double[] c, double[] d,
+                             double[] x, double[] scratch, int m) {
+        checkSizes(a, b, c, d, x, scratch, m);
+        if (VECTOR != null) {
+            VECTOR.solve(a, b, c, d, x, scratch, b.length / m, m);
+        } else {
+            solveScalar(a, b, c, d, x, scratch, b.length / m, m, 0);
+        }
+    }
+
+    /**
+     * Скалярная версия пакетной прогонки (без модуля jdk.incubator.vector).
+     */
+    public static void solveScalar(double[] a, double[] b, double[] c, double[] d,
+                                   double[] x, double[] scratch, int m) {
+        checkSizes(a, b, c, d, x, scratch, m);
+        solveScalar(a, b, c, d, x, scratch, b.length / m, m, 0);
+    }
+
+    private static void checkSizes(double[] a, double[] b, double[] c, double[] d,
+                                   double[] x, double[] scratch, int m) {
+        if (m <= 0 || b.length % m != 0) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        int n = b.length / m;
+        if (a.length != (n - 1) * m || c.length != (n - 1) * m || d.length != n * m
+                || x.length != n * m || scratch.length < n * m) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+    }
+
+    /**
+     * Прогонка для систем from..m-1 (используется и как хвост векторной версии).
+     * alpha хранится в scratch, beta - прямо в x.
+     */
+    static void solveScalar(double[] a, double[] b, double[] c, double[] d,
+                            double[] x, double[] alpha, int n, int m, int from) {
+        // ПРЯМОЙ ХОД
+        for (int s = from; s < m; s++) {
+            if (Math.abs(b[s]) < 1e-10) {
+                throw new ArithmeticException("Деление на ноль. Метод не применим.");
+            }
+            alpha[s] = n > 1 ? -c[s] / b[s] : 0;
+            x[s] = d[s] / b[s];
+        }
+        for (int i = 1; i < n; i++) {
+            int row = i * m;
+            int prev = row - m;
+            for (int s = from; s < m; s++) {
+                double denominator = b[row + s] + a[prev + s] * alpha[prev + s];
+
+                // Проверка деления на ноль
+                if (Math.abs(denominator) < 1e-10) {
+                    throw new ArithmeticException("Деление на ноль. Метод не применим.");
+                }
+
+                alpha[row + s] = i < n - 1 ? -c[row + s] / denominator : 0;
+                x[row + s] = (d[row + s] - a[prev + s] * x[prev + s]) / denominator;
+            }
+        }
+
+        // ОБРАТНЫЙ ХОД
+        for (int i = n - 2; i >= 0; i--) {
+            int row = i * m;
+            int next = row + m;
+            for (int s = from; s < m; s++) {
+                x[row + s] = alpha[row + s] * x[next + s] + x[row + s];
+            }
+        }
+    }
+
+    /**
+     * Сравнивает пропускную способность (систем в секунду): цикл по
+     * TridiagonalSolver.solveInto, скалярная и векторная пакетная прогонка.
+     * Без векторного ядра столбец векторной прогонки не выводится.
+     */
+    public static void main(String[] args) {
+        int m = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int[] sizes = {32, 128, 512};
+        Random random = new Random(42);
+
+        boolean vector = VECTOR != null;
+        System.out.println("=== Пакетная прогонка ===");
+        System.out.println("Систем в пакете: " + m + ", ядро: " + (vector
+                ? "векторное (" + VECTOR.getClass().getSimpleName() + ")"
+                : "скалярное (векторное ядро не загружено, нужен --add-modules jdk.incubator.vector)") + "\n");
+        if (vector) {
+            System.out.printf("%-6s %-20s %-20s %-20s %-12s%n",
+                    "n", "цикл, систем/с", "скаляр, систем/с", "вектор, систем/с", "разница");
+        } else {
+            System.out.printf("%-6s %-20s %-20s %-12s%n",
+                    "n", "цикл, систем/с", "скаляр, систем/с", "разница");
+        }
+
+        for (int n : sizes) {
+            // Одни и те же системы в двух расположениях
+            double[][] la = new double[m][n - 1], lb = new double[m][n], lc = new double[m][n - 1], ld = new double[m][n];
+            double[] a = new double[(n - 1) * m], b = new double[n * m], c = new double[(n - 1) * m], d = new double[n * m];
+            for (int s = 0; s < m; s++) {
+                for (int i = 0; i < n; i++) {
+                    lb[s][i] = b[i * m + s] = 2 + random.nextDouble();
+                    ld[s][i] = d[i * m + s] = random.nextDouble();
+                    if (i < n - 1) {
+                        la[s][i] = a[i * m + s] = random.nextDouble() - 0.5;
+                        lc[s][i] = c[i * m + s] = random.nextDouble() - 0.5;
+                    }
+                }
+            }
+
+            double[][] loopX = new double[m][n];
+            double[] loopScratch = new double[n];
+            double[] x = new double[n * m];
+            double[] xScalar = new double[n * m];
+            double[] scratch = new double[n * m];
+
+            int repeats = Math.max(3, 20_000_000 / (n * m));
+            double loopRate = 0, scalarRate = 0, vectorRate = 0;
+            for (int warmup = 0; warmup < 2; warmup++) {
+                long start = System.nanoTime();
+                for (int r = 0; r < repeats; r++) {
+                    for (int s = 0; s < m; s++) {
+                        TridiagonalSolver.solveInto(la[s], lb[s], lc[s], ld[s], loopX[s], loopScratch);
+                    }
+                }
+                loopRate = (double) repeats * m / ((System.nanoTime() - start) / 1e9);
+
+                start = System.nanoTime();
+                for (int r = 0; r < repeats; r++) {
+                    solveScalar(a, b, c, d, xScalar, scratch, m);
+                }
+                scalarRate = (double) repeats * m / ((System.nanoTime() - start) / 1e9);
+
+                if (vector) {
+                    start = System.nanoTime();
+                    for (int r = 0; r < repeats; r++) {
+                        solve(a, b, c, d, x, scratch, m);
+                    }
+                    vectorRate = (double) repeats * m / ((System.nanoTime() - start) / 1e9);
+                }
+            }
+
+            double maxDifference = 0;
+            for (int s = 0; s < m; s++) {
+                for (int i = 0; i < n; i++) {
+                    if (vector) {
+                        maxDifference = Math.max(maxDifference, Math.abs(loopX[s][i] - x[i * m + s]));
+                    }
+                    maxDifference = Math.max(maxDifference, Math.abs(loopX[s][i] - xScalar[i * m + s]));
+                }
+            }
+
+            if (vector) {
+                System.out.printf("%-6d %-20.0f %-20.0f %-20.0f %-12.2e%n",
+                        n, loopRate, scalarRate, vectorRate, maxDifference);
+            } else {
+                System.out.printf("%-6d %-20.0f %-20.0f %-12.2e%n",
+                        n, loopRate, scalarRate, maxDifference);
+            }
+        }
+    }
+}
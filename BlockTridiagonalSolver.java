@@ -0,0 +1,321 @@
+package com.example;
+import java.util.Random;
+
+
+/**
+ * Блочный метод прогонки для систем с блочно-трехдиагональной матрицей:
+ * A[i-1]*x[i-1] + B[i]*x[i] + C[i]*x[i+1] = d[i], где A, B, C - плотные блоки m x m,
+ * а x[i], d[i] - векторы длины m (например, несколько связанных полей в одном узле сетки).
+ *
+ * Все блоки хранятся подряд в плоских массивах double[] по строкам:
+ * элемент (r, s) блока k лежит в [k*m*m + r*m + s], элемент r вектора i - в [i*m + r].
+ *
+ * Рабочие массивы выделяются один раз в конструкторе, поэтому {@link #solve}
+ * не выделяет память. Для блоков 1x1 и 2x2 используются явные формулы,
+ * для больших блоков - LU-разложение с выбором ведущего элемента.
+ */
+public class BlockTridiagonalSolver {
+    private final int n;          // число блочных строк
+    private final int m;          // размер блока
+    private final double[] gamma; // прогоночные блоки G[i] = D[i]^-1 * C[i], размер (n-1)*m*m
+    private final double[] pivot; // текущий ведущий блок D[i] (или его обратный для m <= 2)
+    private final int[] perm;     // перестановка строк LU-разложения
+    private final double[] rhs;   // временный вектор правой части
+
+    /**
+     * @param n число блочных строк
+     * @param m размер блока
+     */
+    public BlockTridiagonalSolver(int n, int m) {
+        if (n < 1 || m < 1) {
+            throw new IllegalArgumentException("Неверные размерности системы");
+        }
+        this.n = n;
+        this.m = m;
+        this.gamma = new double[Math.multiplyExact(n - 1, m * m)];
+        this.pivot = new double[m * m];
+        this.perm = new int[m];
+        this.rhs = new double[m];
+    }
+
+    /**
+     * Решает блочно-трехдиагональную систему.
+     *
+     * @param a нижние блоки (размер (n-1)*m*m), a[i] стоит в строке i+1
+     * @param b диагональные блоки (размер n*m*m)
+     * @param c верхние блоки (размер (n-1)*m*m), c[i] стоит в строке i
+     * @param d правая часть (размер n*m)
+     * @param x массив для решения (размер n*m), допускается x == d
+     */
+    public void solve(double[] a, double[] b, double[] c, double[] d, double[] x) {
+        int mm = m * m;
+
+        // Проверка размерностей
+        if (a.length != (n - 1) * mm || b.length != n * mm || c.length != (n - 1) * mm
+                || d.length != n * m || x.length != n * m) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+
+        // ПРЯМОЙ ХОД: D[i] = B[i] - A[i-1]*G[i-1], y[i] = D[i]^-1 (d[i] - A[i-1]*y[i-1])
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(b, i * mm, pivot, 0, mm);
+            System.arraycopy(d, i * m, rhs, 0, m);
+            if (i > 0) {
+                int lower = (i - 1) * mm;
+                subtractProduct(a, lower, gamma, lower, pivot);
+                subtractProduct(a, lower, x, (i - 1) * m, rhs);
+            }
+
+            factorPivot();
+
+            if (i < n - 1) {
+                // G[i] = D[i]^-1 * C[i], по столбцам
+                int g = i * mm;
+                System.arraycopy(c, g, gamma, g, mm);
+                for (int column = 0; column < m; column++) {
+                    applyInverse(gamma, g + column, m);
+                }
+            }
+
+            applyInverse(rhs, 0, 1);
+            System.arraycopy(rhs, 0, x, i * m, m);
+        }
+
+        // ОБРАТНЫЙ ХОД: x[i] = y[i] - G[i] * x[i+1]
+        for (int i = n - 2; i >= 0; i--) {
+            int g = i * mm;
+            int xi = i * m;
+            int next = xi + m;
+            for (int r = 0; r < m; r++) {
+                double sum = x[xi + r];
+                for (int s = 0; s < m; s++) {
+                    sum -= gamma[g + r * m + s] * x[next + s];
+                }
+                x[xi + r] = sum;
+            }
+        }
+    }
+
+    /**
+     * target -= left(m x m, с offset leftOffset) * right, где right - блок m x m
+     * или вектор длины m (определяется размером target).
+     */
+    private void subtractProduct(double[] left, int leftOffset, double[] right, int rightOffset,
+                                 double[] target) {
+        int columns = target.length / m;
+        for (int r = 0; r < m; r++) {
+            for (int k = 0; k < m; k++) {
+                double l = left[leftOffset + r * m + k];
+                if (l == 0) {
+                    continue;
+                }
+                int row = rightOffset + k * columns;
+                for (int s = 0; s < columns; s++) {
+                    target[r * columns + s] -= l * right[row + s];
+                }
+            }
+        }
+    }
+
+    /**
+     * Разлагает текущий ведущий блок. Для m = 1 и m = 2 блок заменяется обратным,
+     * иначе - LU-разложением с выбором ведущего элемента по столбцу.
+     */
+    private void factorPivot() {
+        if (m == 1) {
+            checkPivot(pivot[0]);
+            pivot[0] = 1.0 / pivot[0];
+            return;
+        }
+        if (m == 2) {
+            double det = pivot[0] * pivot[3] - pivot[1] * pivot[2];
+            checkPivot(det);
+            double p0 = pivot[0];
+            pivot[0] = pivot[3] / det;
+            pivot[1] = -pivot[1] / det;
+            pivot[2] = -pivot[2] / det;
+            pivot[3] = p0 / det;
+            return;
+        }
+
+        for (int k = 0; k < m; k++) {
+            // Выбор ведущего элемента
+            int p = k;
+            for (int r = k + 1; r < m; r++) {
+                if (Math.abs(pivot[r * m + k]) > Math.abs(pivot[p * m + k])) {
+                    p = r;
+                }
+            }
+            perm[k] = p;
+            if (p != k) {
+                for (int s = 0; s < m; s++) {
+                    double tmp = pivot[k * m + s];
+                    pivot[k * m + s] = pivot[p * m + s];
+                    pivot[p * m + s] = tmp;
+                }
+            }
+
+            double diagonal = pivot[k * m + k];
+            checkPivot(diagonal);
+
+            for (int r = k + 1; r < m; r++) {
+                double l = pivot[r * m + k] / diagonal;
+                pivot[r * m + k] = l;
+                for (int s = k + 1; s < m; s++) {
+                    pivot[r * m + s] -= l * pivot[k * m + s];
+                }
+            }
+        }
+    }
+
+    /**
+     * Заменяет вектор v[offset + r*stride], r = 0..m-1, на D^-1 * v
+     */
+    private void applyInverse(double[] v, int offset, int stride) {
+        if (m == 1) {
+            v[offset] *= pivot[0];
+            return;
+        }
+        if (m == 2) {
+            double v0 = v[offset];
+            double v1 = v[offset + stride];
+            v[offset] = pivot[0] * v0 + pivot[1] * v1;
+            v[offset + stride] = pivot[2] * v0 + pivot[3] * v1;
+            return;
+        }
+
+        // Перестановка строк целиком: factorPivot переставляет и уже найденные
+        // множители L, поэтому все перестановки применяются до подстановки
+        for (int k = 0; k < m; k++) {
+            int p = perm[k];
+            if (p != k) {
+                double tmp = v[offset + k * stride];
+                v[offset + k * stride] = v[offset + p * stride];
+                v[offset + p * stride] = tmp;
+            }
+        }
+
+        // Прямая подстановка (L с единичной диагональю)
+        for (int k = 0; k < m; k++) {
+            double vk = v[offset + k * stride];
+            for (int r = k + 1; r < m; r++) {
+                v[offset + r * stride] -= pivot[r * m + k] * vk;
+            }
+        }
+
+        // Обратная подстановка
+        for (int k = m - 1; k >= 0; k--) {
+            double sum = v[offset + k * stride];
+            for (int s = k + 1; s < m; s++) {
+                sum -= pivot[k * m + s] * v[offset + s * stride];
+            }
+            v[offset + k * stride] = sum / pivot[k * m + k];
+        }
+    }
+
+    private static void checkPivot(double value) {
+        if (Math.abs(value) < 1e-10) {
+            throw new ArithmeticException("Деление на ноль. Метод не применим.");
+        }
+    }
+
+    /**
+     * Вычисляет максимальную невязку |A*x - d| блочной системы
+     */
+    public static double maxResidual(double[] a, double[] b, double[] c, double[] d, double[] x, int m) {
+        int n = d.length / m;
+        int mm = m * m;
+        double max = 0;
+        for (int i = 0; i < n; i++) {
+            for (int r = 0; r < m; r++) {
+                double sum = -d[i * m + r];
+                for (int s = 0; s < m; s++) {
+                    sum += b[i * mm + r * m + s] * x[i * m + s];
+                    if (i > 0) sum += a[(i - 1) * mm + r * m + s] * x[(i - 1) * m + s];
+                    if (i < n - 1) sum += c[i * mm + r * m + s] * x[(i + 1) * m + s];
+                }
+                max = Math.max(max, Math.abs(sum));
+            }
+        }
+        return max;
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+
+        System.out.println("=== Блочный метод прогонки ===\n");
+        System.out.printf("%-8s %-10s %-15s %-15s%n", "блок", "n", "время, мс", "невязка");
+
+        for (int m = 1; m <= 8; m++) {
+            int mm = m * m;
+            double[] a = new double[(n - 1) * mm], b = new double[n * mm];
+            double[] c = new double[(n - 1) * mm], d = new double[n * m];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = random.nextDouble() - 0.5;
+                c[i] = random.nextDouble() - 0.5;
+            }
+            for (int i = 0; i < b.length; i++) {
+                b[i] = random.nextDouble() - 0.5;
+            }
+            for (int i = 0; i < n; i++) {
+                for (int r = 0; r < m; r++) {
+                    b[i * mm + r * m + r] += 3 * m; // блочное диагональное преобладание
+                }
+            }
+            for (int i = 0; i < d.length; i++) {
+                d[i] = random.nextDouble();
+            }
+
+            BlockTridiagonalSolver solver = new BlockTridiagonalSolver(n, m);
+            double[] x = new double[n * m];
+            solver.solve(a, b, c, d, x); // прогрев
+
+            long start = System.nanoTime();
+            solver.solve(a, b, c, d, x);
+            double time = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("%-8s %-10d %-15.2f %-15.2e%n",
+                    m + "x" + m, n, time, maxResidual(a, b, c, d, x, m));
+        }
+
+        // Без диагонального преобладания: одиночный блок (плотная система),
+        // здесь работает выбор ведущего элемента внутри блока
+        System.out.println("\nБлоки без диагонального преобладания:");
+        double[] example = {1, 2, 3, 4, 5, 6, 7, 8, 10};
+        double[] x = new double[3];
+        new BlockTridiagonalSolver(1, 3).solve(new double[0], example, new double[0], new double[]{1, 2, 3}, x);
+        System.out.printf("{1,2,3;4,5,6;7,8,10} x = {1,2,3}: x = [%.4f, %.4f, %.4f] (ожидается [-0.3333, 0.6667, 0])%n",
+                x[0], x[1], x[2]);
+        checkResidual(maxResidual(new double[0], example, new double[0], new double[]{1, 2, 3}, x, 3));
+
+        for (int m = 3; m <= 8; m++) {
+            int mm = m * m;
+            for (int blocks : new int[]{1, 4}) {
+                double[] a = new double[(blocks - 1) * mm], b = new double[blocks * mm];
+                double[] c = new double[(blocks - 1) * mm], d = new double[blocks * m];
+                for (int i = 0; i < a.length; i++) {
+                    a[i] = 0.1 * (random.nextDouble() - 0.5);
+                    c[i] = 0.1 * (random.nextDouble() - 0.5);
+                }
+                for (int i = 0; i < b.length; i++) {
+                    b[i] = random.nextDouble() - 0.5;
+                }
+                for (int i = 0; i < d.length; i++) {
+                    d[i] = random.nextDouble();
+                }
+                double[] solution = new double[blocks * m];
+                new BlockTridiagonalSolver(blocks, m).solve(a, b, c, d, solution);
+                double residual = maxResidual(a, b, c, d, solution, m);
+                System.out.printf("%-8s %-10d %-15s %-15.2e%n", m + "x" + m, blocks, "-", residual);
+                checkResidual(residual);
+            }
+        }
+    }
+
+    private static void checkResidual(double residual) {
+        if (!(residual < 1e-8)) {
+            throw new IllegalStateException("Слишком большая невязка: " + residual);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Теплопроводность в квадрате/кубе: схема Дюфорта-Франкля в 2D/3D
+ */
+public class DufortFrankelGridScheme extends GridScheme {
+
+    DufortFrankelGridScheme(int dimensions, int N) {
+        super(dimensions, N);
+    }
+
+    @Override
+    protected void initialize() {
+        // Схема Дюфорта-Франкля абсолютно устойчива, шаг тот же, что в 1D
+        tau = 0.0005;
+
+        // Начальное условие: "горб" температуры в центральном кубе (0.4, 0.6)^d
+        Arrays.fill(u_prev, 0);
+        Arrays.fill(u_curr, 0);
+        Arrays.fill(u_next, 0);
+        int kFrom = sz == 0 ? 0 : 1;
+        int kTo = sz == 0 ? 1 : N;
+        for (int k = kFrom; k < kTo; k++) {
+            boolean insideZ = sz == 0 || inside(k);
+            for (int j = 1; j < N; j++) {
+                for (int i = 1; i < N; i++) {
+                    u_prev[index(i, j, k)] = insideZ && inside(j) && inside(i) ? 1.0 : 0.0;
+                }
+            }
+        }
+
+        // Слой j=1 по явной схеме Эйлера, как в одномерной задаче
+        double sigma = tau / (h * h);
+        for (int k = kFrom; k < kTo; k++) {
+            for (int j = 1; j < N; j++) {
+                for (int i = 1; i < N; i++) {
+                    int p = index(i, j, k);
+                    u_curr[p] = u_prev[p] + sigma * (neighbours(u_prev, p) - 2 * dimensions * u_prev[p]);
+                }
+            }
+        }
+    }
+
+    private boolean inside(int i) {
+        double x = i * h;
+        return x > 0.4 && x < 0.6;
+    }
+
+    @Override
+    protected void updateRow(double[] u_prev, double[] u_curr, double[] u_next, int base, int from, int to) {
+        // (u^{j+1} - u^{j-1})/(2tau) = (сумма соседей - d (u^{j+1} + u^{j-1})) / h^2, lambda = 2tau/h^2:
+        // u^{j+1} = ((1 - d lambda) u^{j-1} + lambda * сумма соседей) / (1 + d lambda)
+        double lambda = (2 * tau) / (h * h);
+        double keep = 1 - dimensions * lambda;
+        double inverse = 1 / (1 + dimensions * lambda);
+        int sy = this.sy, sz = this.sz;
+        if (sz == 0) {
+            for (int p = base + from; p < base + to; p++) {
+                double sum = u_curr[p - 1] + u_curr[p + 1] + u_curr[p - sy] + u_curr[p + sy];
+                u_next[p] = (keep * u_prev[p] + lambda * sum) * inverse;
+            }
+        } else {
+            for (int p = base + from; p < base + to; p++) {
+                double sum = u_curr[p - 1] + u_curr[p + 1] + u_curr[p - sy] + u_curr[p + sy]
+                        + u_curr[p - sz] + u_curr[p + sz];
+                u_next[p] = (keep * u_prev[p] + lambda * sum) * inverse;
+            }
+        }
+    }
+}
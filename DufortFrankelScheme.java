@@ -0,0 +1,48 @@
+package com.example;
+
+/**
+ * РЕШЕНИЕ 2: Уравнение теплопроводности
+ * Схема Дюфорта-Франкля (Ромб)
+ * Источник [40-43]
+ */
+public class DufortFrankelScheme extends ThreeLayerScheme {
+
+    DufortFrankelScheme(int N) {
+        super(N);
+    }
+
+    @Override
+    protected void initialize() {
+        // Для теплопроводности tau может быть больше h^2, но схема Дюфорта-Франкля
+        // абсолютно устойчива [41], поэтому выбираем удобный шаг.
+        tau = 0.0005;
+
+        // Начальное условие: "горб" температуры в центре
+        for (int i = 0; i <= N; i++) {
+            if (x[i] > 0.4 && x[i] < 0.6)
+                u_prev[i] = 1.0;
+            else
+                u_prev[i] = 0.0;
+        }
+        u_prev[0] = 0; u_prev[N] = 0;
+
+        // Для старта схемы Дюфорта-Франкля нужны два слоя (j и j-1).
+        // Слой j=1 рассчитаем по простой явной схеме (Ричардсона/Эйлера) для старта.
+        double sigma = tau / (h * h);
+        for (int i = 1; i < N; i++) {
+            u_curr[i] = u_prev[i] + sigma * (u_prev[i + 1] - 2 * u_prev[i] + u_prev[i - 1]);
+        }
+        u_curr[0] = 0; u_curr[N] = 0;
+    }
+
+    @Override
+    protected void updateRange(double[] u_prev, double[] u_curr, double[] u_next, int from, int to) {
+        // Схема Ромб (Дюфорта-Франкля)
+        // Источник [40]: (u^{j+1} - u^{j-1})/(2tau) = (u_{i+1}^j - (u^{j+1} + u^{j-1}) + u_{i-1}^j) / h^2
+        // Выражаем u^{j+1}: u^{j+1} = ((1 - lambda) u^{j-1} + lambda (u_{i+1}^j + u_{i-1}^j)) / (1 + lambda),
+        // деление заменено умножением на 1 / (1 + lambda), вычисленное один раз
+        double lambda = (2 * tau) / (h * h);
+
+        StencilKernels.dufortFrankel(u_prev, u_curr, u_next, from, to, lambda);
+    }
+}
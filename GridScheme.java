@@ -0,0 +1,235 @@
+package com.example;
+
+/**
+ * Трехслойные схемы на двумерной и трехмерной сетке (лабораторная 9):
+ * мембрана (схема "Крест") и теплопроводность в квадрате/кубе
+ * (схема Дюфорта-Франкля)
+ *
+ * Сетка (N+1)^d узлов на единичном квадрате (d = 2) или кубе (d = 3),
+ * слои хранятся в плоских массивах: узел (i, j, k) - индекс i + (N+1) * (j + (N+1) * k).
+ *
+ * Слой обходится плитками: в 2D - полосы шириной TILE_X узлов по всем строкам,
+ * в 3D - блоки TILE_X x TILE_Y, внутри которых идем по плоскостям k, так что
+ * три соседние плоскости блока остаются в кэше. Для параллельного счета
+ * внешнее измерение (строки в 2D, плоскости в 3D) делится на слои-полосы
+ * между постоянными потоками {@link StripeWorkerPool}.
+ *
+ * Граничные узлы равны нулю и никогда не перезаписываются.
+ */
+public abstract class GridScheme implements TimeSteppingScheme, StripeKernel {
+    /** Узлов строки в одной плитке */
+    private static final int TILE_X = 1024;
+    /** Строк в одной плитке (3D) */
+    private static final int TILE_Y = 32;
+    /** Минимальное число узлов, при котором слои считаются несколькими потоками */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    protected final int dimensions; // Размерность (2 или 3)
+    protected final int N;          // Количество отрезков по каждой оси
+    protected final int sy;         // Шаг индекса по Y
+    protected final int sz;         // Шаг индекса по Z (0 в 2D)
+    protected double L = 1.0;       // Длина стороны
+    protected double h;             // Шаг по пространству
+    protected double tau;           // Шаг по времени
+    protected long timeStep = 0;
+
+    protected double[] u_prev; // Слой j-1
+    protected double[] u_curr; // Слой j
+    protected double[] u_next; // Слой j+1
+
+    private StripeWorkerPool pool; // Потоки для параллельного счета слоев
+
+    GridScheme(int dimensions, int N) {
+        if (dimensions != 2 && dimensions != 3) {
+            throw new IllegalArgumentException("Поддерживаются только 2D и 3D сетки");
+        }
+        if (N < 2) {
+            throw new IllegalArgumentException("Неверное количество узлов");
+        }
+        long size = 1;
+        for (int d = 0; d < dimensions; d++) {
+            size *= N + 1;
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Слишком большая сетка");
+        }
+
+        this.dimensions = dimensions;
+        this.N = N;
+        this.h = L / N;
+        this.sy = N + 1;
+        this.sz = dimensions == 3 ? sy * sy : 0;
+
+        u_prev = new double[(int) size];
+        u_curr = new double[(int) size];
+        u_next = new double[(int) size];
+
+        initialize();
+    }
+
+    protected abstract void initialize();
+
+    /**
+     * Вычисляет next[base + i] для i = from..to-1 (внутренние узлы одной строки)
+     */
+    protected abstract void updateRow(double[] prev, double[] curr, double[] next, int base, int from, int to);
+
+    /**
+     * Индекс узла (i, j, k); в 2D k = 0
+     */
+    protected int index(int i, int j, int k) {
+        return i + sy * j + sz * k;
+    }
+
+    /**
+     * Сумма значений в 2d соседних узлах
+     */
+    protected double neighbours(double[] u, int p) {
+        double sum = u[p - 1] + u[p + 1] + u[p - sy] + u[p + sy];
+        if (sz != 0) {
+            sum += u[p - sz] + u[p + sz];
+        }
+        return sum;
+    }
+
+    /**
+     * Считает внутренние узлы следующего слоя с внешним индексом
+     * (строка в 2D, плоскость в 3D) от outerFrom до outerTo-1
+     */
+    private void sweep(int outerFrom, int outerTo) {
+        double[] prev = u_prev, curr = u_curr, next = u_next;
+        if (sz == 0) {
+            for (int it = 1; it < N; it += TILE_X) {
+                int ite = Math.min(it + TILE_X, N);
+                for (int j = outerFrom; j < outerTo; j++) {
+                    updateRow(prev, curr, next, j * sy, it, ite);
+                }
+            }
+            return;
+        }
+        for (int jt = 1; jt < N; jt += TILE_Y) {
+            int jte = Math.min(jt + TILE_Y, N);
+            for (int it = 1; it < N; it += TILE_X) {
+                int ite = Math.min(it + TILE_X, N);
+                for (int k = outerFrom; k < outerTo; k++) {
+                    for (int j = jt; j < jte; j++) {
+                        updateRow(prev, curr, next, k * sz + j * sy, it, ite);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int stripeLength() {
+        return N - 1;
+    }
+
+    @Override
+    public int phases() {
+        return 1;
+    }
+
+    @Override
+    public void computeStripe(int phase, int from, int to) {
+        sweep(1 + from, 1 + to);
+    }
+
+    @Override
+    public void completeLayer() {
+        // Сдвиг слоев без копирования (граничные узлы всех трех массивов равны нулю)
+        double[] free = u_prev;
+        u_prev = u_curr;
+        u_curr = u_next;
+        u_next = free;
+
+        timeStep++;
+    }
+
+    /**
+     * Один шаг по времени
+     */
+    public void step() {
+        sweep(1, N);
+        completeLayer();
+    }
+
+    @Override
+    public void advance(long steps) {
+        if (isParallel()) {
+            pool.advance(steps);
+            return;
+        }
+        for (long k = 0; k < steps; k++) {
+            step();
+        }
+    }
+
+    @Override
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Неверное количество потоков");
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        if (threads > 1) {
+            pool = new StripeWorkerPool(this, threads);
+        }
+    }
+
+    @Override
+    public void reset() {
+        timeStep = 0;
+        initialize();
+    }
+
+    @Override
+    public double time() {
+        return timeStep * tau;
+    }
+
+    @Override
+    public long steps() {
+        return timeStep;
+    }
+
+    @Override
+    public long nodes() {
+        long count = 1;
+        for (int d = 0; d < dimensions; d++) {
+            count *= N - 1;
+        }
+        return count;
+    }
+
+    @Override
+    public long stepsUntil(double tEnd) {
+        return TimeSteppingScheme.stepsUntil(timeStep, tau, tEnd);
+    }
+
+    /** Пул потоков используется, только если узлов не меньше PARALLEL_THRESHOLD */
+    @Override
+    public boolean isParallel() {
+        return pool != null && nodes() >= PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * В 2D - весь слой, в 3D - срез z = 1/2
+     */
+    @Override
+    public Snapshot snapshot(int maxPoints) {
+        int stride = Math.max(1, (N + maxPoints) / maxPoints);
+        int side = N / stride + 1;
+        int plane = sz * (N / 2);
+        double[] result = new double[side * side];
+        for (int j = 0; j < side; j++) {
+            int row = plane + sy * Math.min(j * stride, N);
+            for (int i = 0; i < side; i++) {
+                result[j * side + i] = u_curr[row + Math.min(i * stride, N)];
+            }
+        }
+        return new Snapshot(result, side, side);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * РЕШЕНИЕ 3: Уравнение теплопроводности
+ * Неявная двухслойная схема с весами (Кранка-Николсон, Эйлера)
+ *
+ * Использует только прогонку на обычных массивах: матрица факторизуется один раз
+ * ({@link TridiagonalSolver#factor}), на каждом шаге выполняется
+ * {@link TridiagonalSolver.Factorization#solve(double[], double[])} без выделения памяти.
+ */
+public class ImplicitHeatScheme implements TimeSteppingScheme {
+    /** Вес схемы Кранка-Николсон (второй порядок по времени) */
+    static final double CRANK_NICOLSON = 0.5;
+    /** Вес чисто неявной схемы Эйлера (первый порядок, сильно гасит высокие гармоники) */
+    static final double BACKWARD_EULER = 1.0;
+    /** Шаг по умолчанию: в 100 раз больше, чем в схеме Дюфорта-Франкля */
+    static final double DEFAULT_TAU = 0.05;
+    /**
+     * Первые шаги схемы Кранка-Николсон заменяются двумя полушагами схемы Эйлера
+     * (старт Раннахера): иначе разрывное начальное условие дает незатухающие
+     * колебания при больших tau
+     */
+    private static final int STARTUP_STEPS = 2;
+
+    private final int N;          // Количество отрезков
+    private final double h;       // Шаг по пространству
+    private final double tau;     // Шаг по времени
+    private final double sigma;   // Вес неявного слоя
+    private final TridiagonalSolver.Factorization factorization;
+    private final TridiagonalSolver.Factorization startup; // Эйлер с шагом tau/2 (null при sigma = 1)
+    private final double[] u;     // Внутренние узлы текущего слоя (концы равны нулю)
+    private final double[] rhs;   // Правая часть
+    private long timeStep = 0;
+
+    /**
+     * @param N количество отрезков
+     * @param tau шаг по времени (схема устойчива при любом tau, если sigma >= 1/2)
+     * @param sigma вес неявного слоя: 1/2 - Кранк-Николсон, 1 - Эйлер
+     */
+    ImplicitHeatScheme(int N, double tau, double sigma) {
+        if (N < 3 || !(tau > 0) || sigma < 0.5 || sigma > 1) {
+            throw new IllegalArgumentException("Неверные параметры схемы");
+        }
+        this.N = N;
+        this.h = 1.0 / N;
+        this.tau = tau;
+        this.sigma = sigma;
+
+        // (u^{j+1} - u^j)/tau = sigma * L u^{j+1} + (1 - sigma) * L u^j, L u = (u_{i-1} - 2u_i + u_{i+1}) / h^2.
+        // Матрица левой части не меняется от шага к шагу, прямой ход прогонки делается один раз.
+        double r = tau / (h * h);
+        factorization = factor(N - 1, sigma * r);
+        startup = sigma < 1 ? factor(N - 1, 0.5 * r) : null;
+
+        u = new double[N - 1];
+        rhs = new double[N - 1];
+        initialize();
+    }
+
+    /**
+     * Факторизация матрицы (1 + 2s) на диагонали и -s вне ее
+     */
+    private static TridiagonalSolver.Factorization factor(int n, double s) {
+        double[] a = new double[n - 1];
+        double[] b = new double[n];
+        double[] c = new double[n - 1];
+        Arrays.fill(a, -s);
+        Arrays.fill(b, 1 + 2 * s);
+        Arrays.fill(c, -s);
+        return TridiagonalSolver.factor(a, b, c);
+    }
+
+    private void initialize() {
+        // Начальное условие: "горб" температуры в центре, как в схеме Дюфорта-Франкля
+        for (int i = 1; i < N; i++) {
+            double x = i * h;
+            u[i - 1] = x > 0.4 && x < 0.6 ? 1.0 : 0.0;
+        }
+    }
+
+    /**
+     * Один шаг по времени: явная часть в правую часть, затем прогонка без выделения памяти
+     */
+    public void step() {
+        if (startup != null && timeStep < STARTUP_STEPS) {
+            // Два полушага неявной схемы Эйлера: правая часть - сам слой
+            startup.solve(u, u);
+            startup.solve(u, u);
+            timeStep++;
+            return;
+        }
+
+        double r = tau / (h * h);
+        double explicit = (1 - sigma) * r;
+        double center = 1 - 2 * explicit;
+        int n = N - 1;
+        for (int i = 0; i < n; i++) {
+            double left = i > 0 ? u[i - 1] : 0;
+            double right = i < n - 1 ? u[i + 1] : 0;
+            rhs[i] = center * u[i] + explicit * (left + right);
+        }
+        factorization.solve(rhs, u);
+        timeStep++;
+    }
+
+    @Override
+    public void advance(long steps) {
+        for (long k = 0; k < steps; k++) {
+            step();
+        }
+    }
+
+    @Override
+    public void reset() {
+        timeStep = 0;
+        initialize();
+    }
+
+    @Override
+    public long stepsUntil(double tEnd) {
+        return TimeSteppingScheme.stepsUntil(timeStep, tau, tEnd);
+    }
+
+    @Override
+    public double time() {
+        return timeStep * tau;
+    }
+
+    @Override
+    public long steps() {
+        return timeStep;
+    }
+
+    @Override
+    public long nodes() {
+        return N - 1;
+    }
+
+    /**
+     * Прогонка последовательна, поэтому схема всегда считается в одном потоке
+     */
+    @Override
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Неверное количество потоков");
+        }
+    }
+
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public Snapshot snapshot(int maxPoints) {
+        int stride = Math.max(1, (N + maxPoints) / maxPoints);
+        double[] result = new double[N / stride + 1];
+        for (int k = 0; k < result.length; k++) {
+            int i = Math.min(k * stride, N);
+            result[k] = i == 0 || i == N ? 0 : u[i - 1];
+        }
+        return new Snapshot(result, result.length, 1);
+    }
+}
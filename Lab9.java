@@ -1,8 +1,7 @@
 package com.example;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
 
 public class Lab9 extends JFrame {
 
@@ -20,68 +19,168 @@ public class Lab9 extends JFrame {
         // Вкладка 2: Уравнение теплопроводности (Схема Дюфорта-Франкля)
         tabbedPane.addTab("Уравнение теплопроводности (Дюфорта-Франкля)", new HeatEquationPanel());
 
+        // Вкладка 3: Уравнение теплопроводности (Кранк-Николсон, шаг в 10 раз больше)
+        tabbedPane.addTab("Теплопроводность (Кранк-Николсон)", new ImplicitHeatPanel());
+
+        // Вкладка 4: Колебания мембраны (Крест, 2D)
+        tabbedPane.addTab("Мембрана (2D)", new MembranePanel());
+
+        // Вкладка 5: Теплопроводность в кубе (Дюфорта-Франкля, 3D), срез z = 1/2
+        tabbedPane.addTab("Теплопроводность (3D, срез)", new HeatVolumePanel());
+
+        // Вкладка 6: Теплопроводность в квадрате (продольно-поперечная схема)
+        tabbedPane.addTab("Теплопроводность (2D, ADI)", new AdiHeatPanel());
+
         add(tabbedPane);
     }
 
+    /**
+     * Без аргументов запускается окно. Пакетный режим без графики:
+     * --headless схема [tEnd] [N] [потоков]
+     * Замер параллельной эффективности:
+     * --scaling схема [N] [шагов]
+     * Схемы: wave, heat, wave2d, heat2d, wave3d, heat3d (N - узлов по каждой оси),
+     * heat-cn, heat-be (неявные схемы Кранка-Николсон и Эйлера), heat-adi (2D, схема Писмена-Рэчфорда)
+     */
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--headless")) {
+            double tEnd = args.length >= 3 ? Double.parseDouble(args[2]) : 100;
+            int n = args.length >= 4 ? Integer.parseInt(args[3]) : 100;
+            int threads = args.length >= 5 ? Integer.parseInt(args[4]) : 1;
+            runHeadless(args[1], tEnd, n, threads);
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--scaling")) {
+            int n = args.length >= 3 ? Integer.parseInt(args[2]) : 10_000_000;
+            int steps = args.length >= 4 ? Integer.parseInt(args[3]) : 100;
+            runScaling(args[1], n, steps);
+            return;
+        }
+
         SwingUtilities.invokeLater(() -> {
             new Lab9().setVisible(true);
         });
     }
+
+    /**
+     * Считает схему до момента tEnd без отображения и печатает скорость счета
+     */
+    static void runHeadless(String name, double tEnd, int n, int threads) {
+        TimeSteppingScheme scheme = createScheme(name, n);
+        scheme.setThreads(threads);
+
+        SimulationEngine engine = new SimulationEngine(scheme, null);
+        engine.setEndTime(tEnd);
+        long start = System.nanoTime();
+        engine.runToEnd();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        scheme.setThreads(1);
+
+        System.out.printf("Схема: %s, N = %d, потоков: %d, t = %.3f, шагов: %d%n",
+                name, n, threads, scheme.time(), scheme.steps());
+        System.out.printf("Время: %.3f с, скорость: %.0f шагов/с%n", seconds, scheme.steps() / seconds);
+    }
+
+    /**
+     * Считает steps шагов на 1, 2, 4, ... потоках (до числа ядер) и печатает
+     * ускорение и параллельную эффективность относительно одного потока
+     */
+    static void runScaling(String name, int n, int steps) {
+        TimeSteppingScheme scheme = createScheme(name, n);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("Схема: %s, N = %d, шагов: %d, ядер: %d%n", name, n, steps, cores);
+
+        // Ниже порога параллельного счета схема считает одним потоком при любом их числе
+        int maxThreads = cores;
+        scheme.setThreads(2);
+        if (!scheme.isParallel()) {
+            System.out.println("При таком размере сетки схема считает одним потоком, замер только для одного потока");
+            maxThreads = 1;
+        }
+
+        System.out.println("Потоков | Время, с | Узлов/с | Ускорение | Эффективность");
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads;
+             threads = threads * 2 > maxThreads && threads < maxThreads ? maxThreads : threads * 2) {
+            scheme.setThreads(threads);
+            scheme.reset();
+            scheme.advance(Math.max(1, steps / 10)); // прогрев
+
+            scheme.reset();
+            long start = System.nanoTime();
+            scheme.advance(steps);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            if (threads == 1) {
+                baseline = seconds;
+            }
+            double speedup = baseline / seconds;
+            System.out.printf("%7d | %8.3f | %7.3e | %9.2f | %12.0f%%%n",
+                    threads, seconds, (double) scheme.nodes() * steps / seconds, speedup, 100 * speedup / threads);
+        }
+        scheme.setThreads(1);
+    }
+
+    static TimeSteppingScheme createScheme(String name, int n) {
+        return switch (name) {
+            case "wave" -> new WaveScheme(n);
+            case "heat" -> new DufortFrankelScheme(n);
+            case "wave2d" -> new WaveGridScheme(2, n);
+            case "heat2d" -> new DufortFrankelGridScheme(2, n);
+            case "wave3d" -> new WaveGridScheme(3, n);
+            case "heat3d" -> new DufortFrankelGridScheme(3, n);
+            case "heat-cn" -> new ImplicitHeatScheme(n, ImplicitHeatScheme.DEFAULT_TAU, ImplicitHeatScheme.CRANK_NICOLSON);
+            case "heat-be" -> new ImplicitHeatScheme(n, ImplicitHeatScheme.DEFAULT_TAU, ImplicitHeatScheme.BACKWARD_EULER);
+            case "heat-adi" -> new PeacemanRachfordScheme(n, PeacemanRachfordScheme.DEFAULT_TAU);
+            default -> throw new IllegalArgumentException("Неизвестная схема: " + name);
+        };
+    }
 }
 
 // ==========================================================
-// Абстрактный класс для отрисовки графиков и управления циклом
+// Абстрактный класс для отрисовки графиков: показывает снимки,
+// которые движок публикует из своего потока (график для 1D,
+// тепловая карта для 2D и среза 3D)
 // ==========================================================
-abstract class SimulationPanel extends JPanel implements ActionListener {
-    protected Timer timer;
-    protected double[] x;      // Сетка по X
-    protected double[] u_prev; // Слой j-1
-    protected double[] u_curr; // Слой j
-    protected double[] u_next; // Слой j+1
-    protected int N = 100;     // Количество узлов по пространству
-    protected double L = 1.0;  // Длина отрезка
-    protected double h;        // Шаг по пространству
-    protected double tau;      // Шаг по времени
-    protected int timeStep = 0;
-
-    public SimulationPanel() {
-        this.h = L / N;
-        this.x = new double[N + 1];
-        for (int i = 0; i <= N; i++) x[i] = i * h;
-
-        u_prev = new double[N + 1];
-        u_curr = new double[N + 1];
-        u_next = new double[N + 1];
+abstract class SimulationPanel extends JPanel implements SimulationEngine.SnapshotListener {
+    private static final String[] SPEEDS = {"1 шаг за кадр", "100 шагов за кадр", "Максимальная"};
+    private static final double[] STEPS_PER_SECOND = {33, 3300, 0};
+
+    protected final TimeSteppingScheme scheme;
+    protected final SimulationEngine engine;
+    private volatile Snapshot snapshot;
+    private volatile double snapshotTime;
+    private volatile double stepsPerSecond;
+
+    public SimulationPanel(TimeSteppingScheme scheme) {
+        this.scheme = scheme;
+        this.engine = new SimulationEngine(scheme, this);
+        this.engine.setEndTime(100);
+        this.snapshot = scheme.snapshot(2000);
 
         // Кнопка перезапуска
         JButton restartBtn = new JButton("Перезапустить");
         restartBtn.addActionListener(e -> resetSimulation());
         this.add(restartBtn);
 
-        initialize();
-        timer = new Timer(30, this); // ~33 FPS
-        timer.start();
-    }
+        // Выбор скорости счета
+        JComboBox<String> speedBox = new JComboBox<>(SPEEDS);
+        speedBox.addActionListener(e -> engine.setMaxStepsPerSecond(STEPS_PER_SECOND[speedBox.getSelectedIndex()]));
+        engine.setMaxStepsPerSecond(STEPS_PER_SECOND[0]);
+        this.add(speedBox);
 
-    protected abstract void initialize();
-    protected abstract void calculateNextLayer();
+        engine.start();
+    }
 
     protected void resetSimulation() {
-        timeStep = 0;
-        initialize();
-        repaint();
+        engine.restart();
     }
 
     @Override
-    public void actionPerformed(ActionEvent e) {
-        calculateNextLayer();
-
-        // Сдвиг слоев: curr -> prev, next -> curr
-        System.arraycopy(u_curr, 0, u_prev, 0, u_curr.length);
-        System.arraycopy(u_next, 0, u_curr, 0, u_next.length);
-
-        timeStep++;
+    public void onSnapshot(Snapshot u, double time, double rate) {
+        snapshot = u;
+        snapshotTime = time;
+        stepsPerSecond = rate;
         repaint();
     }
 
@@ -91,132 +190,100 @@ abstract class SimulationPanel extends JPanel implements ActionListener {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+        Snapshot current = snapshot;
         int w = getWidth();
         int h_panel = getHeight();
         int padding = 50;
 
+        g2.drawString("Время t = " + String.format("%.3f", snapshotTime), w - 150, 30);
+        g2.drawString(String.format("%.0f шагов/с", stepsPerSecond), w - 150, 45);
+
+        if (current.height > 1) {
+            drawHeatMap(g2, current, padding);
+            return;
+        }
+        double[] u = current.values;
+
         // Рисуем оси
         g2.drawLine(padding, h_panel - padding, w - padding, h_panel - padding); // X
         g2.drawLine(padding, padding, padding, h_panel - padding); // Y
 
-        g2.drawString("Время t = " + String.format("%.3f", timeStep * tau), w - 150, 30);
-
         // Масштабирование
         double yMin = -1.2;
         double yMax = 1.2;
         double yScale = (h_panel - 2 * padding) / (yMax - yMin);
-        double xScale = (double) (w - 2 * padding) / N;
+        int segments = u.length - 1;
+        double xScale = (double) (w - 2 * padding) / segments;
 
-        // Отрисовка графика u_curr
+        // Отрисовка графика текущего слоя
         g2.setColor(Color.BLUE);
         g2.setStroke(new BasicStroke(2));
 
-        for (int i = 0; i < N; i++) {
+        for (int i = 0; i < segments; i++) {
             int x1 = padding + (int) (i * xScale);
-            int y1 = h_panel - padding - (int) ((u_curr[i] - yMin) * yScale);
+            int y1 = h_panel - padding - (int) ((u[i] - yMin) * yScale);
             int x2 = padding + (int) ((i + 1) * xScale);
-            int y2 = h_panel - padding - (int) ((u_curr[i + 1] - yMin) * yScale);
+            int y2 = h_panel - padding - (int) ((u[i + 1] - yMin) * yScale);
             g2.drawLine(x1, y1, x2, y2);
         }
     }
-}
 
-// ==========================================================
-// РЕШЕНИЕ 1: Уравнение колебаний (Волновое)
-// Реализация формул (2), (5) и условия устойчивости (7)
-// ==========================================================
-class WaveEquationPanel extends SimulationPanel {
-
-    @Override
-    protected void initialize() {
-        // Условие устойчивости: tau <= h (для a=1).
-        // Источник [30]: корней не превосходят 1, если sigma <= 1.
-        tau = h * 0.5; // Берем с запасом
-
-        // Начальное условие: u(x,0) = sin(pi * x)
-        // Начальная скорость: du/dt(x,0) = 0
-        for (int i = 0; i <= N; i++) {
-            u_prev[i] = Math.sin(Math.PI * x[i]); // Слой j=0
+    /**
+     * Тепловая карта: отрицательные значения - синий, положительные - красный,
+     * насыщенность растет до |u| = 1
+     */
+    private void drawHeatMap(Graphics2D g2, Snapshot current, int padding) {
+        BufferedImage image = new BufferedImage(current.width, current.height, BufferedImage.TYPE_INT_RGB);
+        for (int j = 0; j < current.height; j++) {
+            for (int i = 0; i < current.width; i++) {
+                double v = Math.max(-1, Math.min(1, current.values[j * current.width + i]));
+                int shade = 255 - (int) (Math.abs(v) * 255);
+                int rgb = v >= 0 ? (255 << 16) | (shade << 8) | shade : (shade << 16) | (shade << 8) | 255;
+                // Ось Y направлена вверх
+                image.setRGB(i, current.height - 1 - j, rgb);
+            }
         }
 
-        // Аппроксимация второго слоя (j=1) с учетом начальной скорости
-        // Источник [22]: u_1 = u_0 + tau*phi + (tau^2/2) * u_xx
-        double r = (tau * tau) / (h * h);
-        for (int i = 1; i < N; i++) {
-            // Вторая производная u_xx ~ (u_{i+1} - 2u_i + u_{i-1}) / h^2
-            double u_xx = (u_prev[i + 1] - 2 * u_prev[i] + u_prev[i - 1]) / (h * h);
-            // Так как начальная скорость (phi) = 0:
-            u_curr[i] = u_prev[i] + 0.5 * (tau * tau) * u_xx;
-        }
-        // Граничные условия (закрепленные концы)
-        u_curr[0] = 0;
-        u_curr[N] = 0;
+        int size = Math.min(getWidth(), getHeight()) - 2 * padding;
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.drawImage(image, padding, padding, size, size, null);
+        g2.setColor(Color.BLACK);
+        g2.drawRect(padding, padding, size, size);
     }
+}
 
-    @Override
-    protected void calculateNextLayer() {
-        // Явная трехслойная схема "Крест"
-        // Источник [9]: u^{j+1} выражается через u^j и u^{j-1}
-        double r = (tau * tau) / (h * h); // Число Куранта в квадрате
-
-        for (int i = 1; i < N; i++) {
-            u_next[i] = 2 * u_curr[i] - u_prev[i] + r * (u_curr[i + 1] - 2 * u_curr[i] + u_curr[i - 1]);
-        }
-
-        // Граничные условия
-        u_next[0] = 0;
-        u_next[N] = 0;
+class WaveEquationPanel extends SimulationPanel {
+    WaveEquationPanel() {
+        super(new WaveScheme(100));
     }
 }
 
-// ==========================================================
-// РЕШЕНИЕ 2: Уравнение теплопроводности
-// Схема Дюфорта-Франкля (Ромб)
-// Источник [40-43]
-// ==========================================================
 class HeatEquationPanel extends SimulationPanel {
+    HeatEquationPanel() {
+        super(new DufortFrankelScheme(100));
+    }
+}
 
-    @Override
-    protected void initialize() {
-        // Для теплопроводности tau может быть больше h^2, но схема Дюфорта-Франкля
-        // абсолютно устойчива [41], поэтому выбираем удобный шаг.
-        tau = 0.0005;
-
-        // Начальное условие: "горб" температуры в центре
-        for (int i = 0; i <= N; i++) {
-            if (x[i] > 0.4 && x[i] < 0.6)
-                u_prev[i] = 1.0;
-            else
-                u_prev[i] = 0.0;
-        }
-        u_prev[0] = 0; u_prev[N] = 0;
+class ImplicitHeatPanel extends SimulationPanel {
+    ImplicitHeatPanel() {
+        super(new ImplicitHeatScheme(100, 0.005, ImplicitHeatScheme.CRANK_NICOLSON));
+    }
+}
 
-        // Для старта схемы Дюфорта-Франкля нужны два слоя (j и j-1).
-        // Слой j=1 рассчитаем по простой явной схеме (Ричардсона/Эйлера) для старта.
-        double sigma = tau / (h * h);
-        for (int i = 1; i < N; i++) {
-            u_curr[i] = u_prev[i] + sigma * (u_prev[i + 1] - 2 * u_prev[i] + u_prev[i - 1]);
-        }
-        u_curr[0] = 0; u_curr[N] = 0;
+class MembranePanel extends SimulationPanel {
+    MembranePanel() {
+        super(new WaveGridScheme(2, 200));
     }
+}
 
-    @Override
-    protected void calculateNextLayer() {
-        // Схема Ромб (Дюфорта-Франкля)
-        // Источник [40]: (u^{j+1} - u^{j-1})/(2tau) = (u_{i+1}^j - (u^{j+1} + u^{j-1}) + u_{i-1}^j) / h^2
-        // Выражаем u^{j+1}:
-        double lambda = (2 * tau) / (h * h);
-
-        for (int i = 1; i < N; i++) {
-            double term1 = (1 - lambda) * u_prev[i];
-            double term2 = lambda * (u_curr[i + 1] + u_curr[i - 1]);
-            double denominator = 1 + lambda;
-
-            u_next[i] = (term1 + term2) / denominator;
-        }
+class HeatVolumePanel extends SimulationPanel {
+    HeatVolumePanel() {
+        super(new DufortFrankelGridScheme(3, 64));
+    }
+}
 
-        // Граничные условия (температура на концах стержня = 0)
-        u_next[0] = 0;
-        u_next[N] = 0;
+class AdiHeatPanel extends SimulationPanel {
+    AdiHeatPanel() {
+        super(new PeacemanRachfordScheme(200, 0.001));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,287 @@
+package com.example;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Метод прогонки для диагоналей, хранящихся вне кучи в {@link MemorySegment}.
+ *
+ * Индексы имеют тип long, поэтому размер системы не ограничен 2^31 элементами,
+ * а многогигабайтные диагонали не нагружают сборщик мусора. Сегменты могут быть
+ * выделены через {@link Arena} или отображены из файла ({@code FileChannel.map}),
+ * тогда система решается прямо в отображенной памяти без копирования.
+ *
+ * Числа хранятся в формате little-endian без требования выравнивания,
+ * поэтому сегмент может начинаться с любого смещения в файле.
+ */
+public class OffHeapTridiagonalSolver {
+    /** Формат элемента: double, little-endian, без выравнивания */
+    public static final ValueLayout.OfDouble LAYOUT =
+            ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** Формат заголовка двоичного файла: размерность n, long little-endian */
+    private static final ValueLayout.OfLong LONG_LAYOUT =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Выделяет сегмент для count чисел double в заданной арене
+     */
+    public static MemorySegment allocate(Arena arena, long count) {
+        return arena.allocate(count * Double.BYTES, Double.BYTES);
+    }
+
+    /**
+     * @return количество чисел double в сегменте
+     */
+    public static long length(MemorySegment segment) {
+        return segment.byteSize() / Double.BYTES;
+    }
+
+    /**
+     * Решает СЛАУ с трехдиагональной матрицей методом прогонки без выделения памяти.
+     * Прогоночные коэффициенты alpha хранятся в scratch, beta - прямо в x.
+     *
+     * @param a нижняя диагональ (n-1 чисел)
+     * @param b главная диагональ (n чисел)
+     * @param c верхняя диагональ (n-1 чисел)
+     * @param d правая часть (n чисел)
+     * @param x сегмент для решения (n чисел), может совпадать с d
+     * @param scratch рабочий сегмент (не меньше n чисел)
+     */
+    public static void solve(MemorySegment a, MemorySegment b, MemorySegment c, MemorySegment d,
+                             MemorySegment x, MemorySegment scratch) {
+        long n = length(b);
+
+        // Проверка размерностей
+        if (n < 1 || length(a) != n - 1 || length(c) != n - 1 || length(d) != n
+                || length(x) != n || length(scratch) < n) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+
+        MemorySegment alpha = scratch;
+
+        // ПРЯМОЙ ХОД
+        double b0 = b.getAtIndex(LAYOUT, 0);
+        if (Math.abs(b0) < 1e-10) {
+            throw new ArithmeticException("Деление на ноль. Метод не применим.");
+        }
+        double alphaPrev = n > 1 ? -c.getAtIndex(LAYOUT, 0) / b0 : 0;
+        double betaPrev = d.getAtIndex(LAYOUT, 0) / b0;
+        alpha.setAtIndex(LAYOUT, 0, alphaPrev);
+        x.setAtIndex(LAYOUT, 0, betaPrev);
+
+        for (long i = 1; i < n; i++) {
+            double ai = a.getAtIndex(LAYOUT, i - 1);
+            double denominator = b.getAtIndex(LAYOUT, i) + ai * alphaPrev;
+
+            // Проверка деления на ноль
+            if (Math.abs(denominator) < 1e-10) {
+                throw new ArithmeticException("Деление на ноль. Метод не применим.");
+            }
+
+            alphaPrev = i < n - 1 ? -c.getAtIndex(LAYOUT, i) / denominator : 0;
+            betaPrev = (d.getAtIndex(LAYOUT, i) - ai * betaPrev) / denominator;
+            alpha.setAtIndex(LAYOUT, i, alphaPrev);
+            x.setAtIndex(LAYOUT, i, betaPrev);
+        }
+
+        // ОБРАТНЫЙ ХОД
+        double next = betaPrev;
+        for (long i = n - 2; i >= 0; i--) {
+            next = alpha.getAtIndex(LAYOUT, i) * next + x.getAtIndex(LAYOUT, i);
+            x.setAtIndex(LAYOUT, i, next);
+        }
+    }
+
+    /**
+     * Решает систему из двоичного файла и записывает решение в двоичный файл.
+     *
+     * Формат входного файла (little-endian): long n, затем n-1 чисел a,
+     * n чисел b, n-1 чисел c и n чисел d (double).
+     * Формат выходного файла: long n, затем n чисел x.
+     *
+     * Оба файла отображаются в память через FileChannel.map, поэтому система
+     * не копируется в кучу и может быть больше нее. Решение пишется во временный
+     * файл рядом с выходным и атомарно переносится на его место только после
+     * успешной прогонки, так что при ошибке прежний выходной файл не меняется.
+     *
+     * @return {максимальная невязка, среднеквадратичная невязка}
+     */
+    public static double[] solveBinaryFile(Path input, Path output) throws IOException {
+        try (Arena arena = Arena.ofConfined();
+             FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+
+            long size = in.size();
+            if (size < Long.BYTES) {
+                throw new IOException("Неверный формат входного файла");
+            }
+            MemorySegment system = in.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            long n = system.get(LONG_LAYOUT, 0);
+            if (n < 1 || n > (Long.MAX_VALUE - Long.BYTES) / (4 * Double.BYTES)
+                    || size != Long.BYTES + (4 * n - 2) * Double.BYTES) {
+                throw new IOException("Неверный формат входного файла");
+            }
+
+            long offset = Long.BYTES;
+            MemorySegment a = system.asSlice(offset, (n - 1) * Double.BYTES);
+            offset += a.byteSize();
+            MemorySegment b = system.asSlice(offset, n * Double.BYTES);
+            offset += b.byteSize();
+            MemorySegment c = system.asSlice(offset, (n - 1) * Double.BYTES);
+            offset += c.byteSize();
+            MemorySegment d = system.asSlice(offset, n * Double.BYTES);
+
+            Path target = output.toAbsolutePath();
+            Path temporary = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+            try {
+                double[] residual;
+                // Отдельная арена: отображение снимается до переноса файла
+                try (Arena mapping = Arena.ofConfined();
+                     FileChannel out = FileChannel.open(temporary,
+                             StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    MemorySegment result = out.map(FileChannel.MapMode.READ_WRITE, 0,
+                            Long.BYTES + n * Double.BYTES, mapping);
+                    result.set(LONG_LAYOUT, 0, n);
+                    MemorySegment x = result.asSlice(Long.BYTES);
+
+                    solve(a, b, c, d, x, allocate(arena, n));
+                    result.force();
+
+                    residual = residualStatistics(a, b, c, d, x);
+                }
+                Files.move(temporary, target,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return residual;
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Вычисляет максимальную и среднеквадратичную невязку решения
+     * за один последовательный проход по диагоналям.
+     *
+     * @return {максимальная невязка, среднеквадратичная невязка}
+     */
+    public static double[] residualStatistics(MemorySegment a, MemorySegment b, MemorySegment c,
+                                              MemorySegment d, MemorySegment x) {
+        ValueLayout.OfDouble layout = LAYOUT;
+        long n = length(b);
+
+        double max = 0;
+        double sumSquares = 0;
+        double previous = 0;
+        double current = x.getAtIndex(layout, 0);
+        for (long i = 0; i < n; i++) {
+            double next = i < n - 1 ? x.getAtIndex(layout, i + 1) : 0;
+
+            double leftSide = b.getAtIndex(layout, i) * current;
+            if (i > 0) {
+                leftSide += a.getAtIndex(layout, i - 1) * previous;
+            }
+            if (i < n - 1) {
+                leftSide += c.getAtIndex(layout, i) * next;
+            }
+
+            double residual = Math.abs(leftSide - d.getAtIndex(layout, i));
+            max = Math.max(max, residual);
+            sumSquares += residual * residual;
+
+            previous = current;
+            current = next;
+        }
+        return new double[]{max, Math.sqrt(sumSquares / n)};
+    }
+
+    /**
+     * Записывает систему в двоичный файл в формате {@link #solveBinaryFile}
+     */
+    public static void writeBinaryFile(Path file, double[] a, double[] b, double[] c, double[] d)
+            throws IOException {
+        int n = b.length;
+        if (a.length != n - 1 || c.length != n - 1 || d.length != n) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+
+        try (Arena arena = Arena.ofConfined();
+             FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            MemorySegment segment = out.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Long.BYTES + (4L * n - 2) * Double.BYTES, arena);
+            segment.set(LONG_LAYOUT, 0, n);
+
+            long index = Long.BYTES / Double.BYTES;
+            for (double[] diagonal : new double[][]{a, b, c, d}) {
+                MemorySegment.copy(diagonal, 0, segment, LAYOUT,
+                        index * Double.BYTES, diagonal.length);
+                index += diagonal.length;
+            }
+            segment.force();
+        }
+    }
+
+    public static void main(String[] args) {
+        // Неинтерактивный режим: --binary <входной файл> <выходной файл>
+        if (args.length == 3 && args[0].equals("--binary")) {
+            try {
+                long start = System.nanoTime();
+                double[] residual = solveBinaryFile(Path.of(args[1]), Path.of(args[2]));
+                System.out.printf("Решение записано в %s за %.1f мс%n",
+                        args[2], (System.nanoTime() - start) / 1e6);
+                System.out.printf("Невязка: максимальная %.2e, среднеквадратичная %.2e%n",
+                        residual[0], residual[1]);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ошибка: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        long n = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+
+        System.out.println("=== Метод прогонки вне кучи ===");
+        System.out.println("Размерность системы: " + n + "\n");
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment a = allocate(arena, n - 1);
+            MemorySegment b = allocate(arena, n);
+            MemorySegment c = allocate(arena, n - 1);
+            MemorySegment d = allocate(arena, n);
+            MemorySegment x = allocate(arena, n);
+            MemorySegment scratch = allocate(arena, n);
+
+            // Система для u(t) = sin(t): -u[i-1] + 4u[i] - u[i+1] = d[i]
+            for (long i = 0; i < n; i++) {
+                b.setAtIndex(LAYOUT, i, 4);
+                if (i < n - 1) {
+                    a.setAtIndex(LAYOUT, i, -1);
+                    c.setAtIndex(LAYOUT, i, -1);
+                }
+                double rhs = 4 * Math.sin(i);
+                if (i > 0) rhs -= Math.sin(i - 1);
+                if (i < n - 1) rhs -= Math.sin(i + 1);
+                d.setAtIndex(LAYOUT, i, rhs);
+            }
+
+            long start = System.nanoTime();
+            solve(a, b, c, d, x, scratch);
+            double time = (System.nanoTime() - start) / 1e6;
+
+            double maxError = 0;
+            for (long i = 0; i < n; i++) {
+                maxError = Math.max(maxError, Math.abs(x.getAtIndex(LAYOUT, i) - Math.sin(i)));
+            }
+            System.out.printf("Время решения: %.1f мс, макс. погрешность: %.2e%n", time, maxError);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Параллельный метод прогонки (метод разбиения) для больших трехдиагональных систем.
+ *
+ * Система делится на блоки, разделенные одиночными строками-разделителями.
+ * Каждый блок независимо решается прогонкой сразу для трех правых частей:
+ * собственной правой части y и двух "спайков" v, w - откликов на неизвестные
+ * в соседних разделителях. Тогда внутри блока x[i] = y[i] + v[i]*x[левый] + w[i]*x[правый],
+ * а уравнения в строках-разделителях образуют малую трехдиагональную систему
+ * размера (число блоков - 1), которая решается обычной прогонкой.
+ * После этого каждый блок достраивается независимо.
+ *
+ * Как и обычная прогонка, метод устойчив для матриц с диагональным преобладанием.
+ */
+public class ParallelTridiagonalSolver {
+    /** Размер системы, начиная с которого используется параллельный метод */
+    public static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    /** Допустимое расхождение с последовательной прогонкой в проверке main */
+    private static final double TOLERANCE = 1e-10;
+
+    /** Минимальный размер блока, чтобы накладные расходы не превышали выигрыш */
+    private static final int MIN_BLOCK_SIZE = 1 << 14;
+
+    /**
+     * Решает систему в общем пуле ForkJoinPool.
+     *
+     * @see #solve(double[], double[], double[], double[], ForkJoinPool)
+     */
+    public static double[] solve(double[] a, double[] b, double[] c, double[] d) {
+        return solve(a, b, c, d, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Решает СЛАУ с трехдиагональной матрицей параллельным методом разбиения.
+     * Системы размера меньше {@link #PARALLEL_THRESHOLD} (или при единственном потоке)
+     * решаются последовательной прогонкой {@link TridiagonalSolver#solve}.
+     *
+     * @param a нижняя диагональ (размер n-1)
+     * @param b главная диагональ (размер n)
+     * @param c верхняя диагональ (размер n-1)
+     * @param d правая часть (размер n)
+     * @param pool пул потоков для обработки блоков
+     * @return решение системы x (размер n)
+     */
+    public static double[] solve(double[] a, double[] b, double[] c, double[] d, ForkJoinPool pool) {
+        int n = b.length;
+
+        // Проверка размерностей
+        if (a.length != n - 1 || c.length != n - 1 || d.length != n) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+
+        int blocks = Math.min(pool.getParallelism() * 4, n / MIN_BLOCK_SIZE);
+        if (n < PARALLEL_THRESHOLD || pool.getParallelism() == 1 || blocks < 2) {
+            return TridiagonalSolver.solve(a, b, c, d);
+        }
+        return solvePartitioned(a, b, c, d, blocks, pool);
+    }
+
+    /**
+     * Метод разбиения с заданным числом блоков (без порога - удобно для проверки на малых n).
+     * Каждый блок должен содержать хотя бы одну строку: n >= 2*blocks - 1.
+     */
+    static double[] solvePartitioned(double[] a, double[] b, double[] c, double[] d,
+                                     int blocks, ForkJoinPool pool) {
+        int n = b.length;
+        if (blocks < 2 || n < 2 * blocks - 1) {
+            throw new IllegalArgumentException("Слишком много блоков для размерности " + n);
+        }
+
+        // Границы блоков: блок k занимает строки lo[k]..hi[k], разделитель k - строка hi[k] + 1
+        int[] lo = new int[blocks];
+        int[] hi = new int[blocks];
+        for (int k = 0; k < blocks; k++) {
+            lo[k] = k == 0 ? 0 : hi[k - 1] + 2;
+            if (k == blocks - 1) {
+                hi[k] = n - 1;
+            } else {
+                // Не меньше одной строки в этом блоке и во всех последующих
+                int end = (int) ((long) n * (k + 1) / blocks) - 2;
+                hi[k] = Math.min(Math.max(lo[k], end), n - 1 - 2 * (blocks - 1 - k));
+            }
+        }
+
+        double[] x = new double[n];     // сначала y, затем решение
+        double[] v = new double[n];     // отклик на левый разделитель
+        double[] w = new double[n];     // отклик на правый разделитель
+        double[] alpha = new double[n]; // прогоночные коэффициенты блоков
+
+        // ЭТАП 1: независимая прогонка в каждом блоке
+        forEachBlock(pool, blocks, k -> solveBlock(a, b, c, d, lo[k], hi[k],
+                k > 0, k < blocks - 1, x, v, w, alpha));
+
+        // ЭТАП 2: редуцированная система для разделителей
+        int m = blocks - 1;
+        double[] ra = new double[m - 1];
+        double[] rb = new double[m];
+        double[] rc = new double[m - 1];
+        double[] rd = new double[m];
+        for (int k = 0; k < m; k++) {
+            int r = hi[k] + 1;
+            rb[k] = b[r] + a[r - 1] * w[r - 1] + c[r] * v[r + 1];
+            rd[k] = d[r] - a[r - 1] * x[r - 1] - c[r] * x[r + 1];
+            if (k > 0) {
+                ra[k - 1] = a[r - 1] * v[r - 1];
+            }
+            if (k < m - 1) {
+                rc[k] = c[r] * w[r + 1];
+            }
+        }
+        double[] separators = TridiagonalSolver.solve(ra, rb, rc, rd);
+
+        // ЭТАП 3: достройка решения внутри блоков
+        for (int k = 0; k < m; k++) {
+            x[hi[k] + 1] = separators[k];
+        }
+        forEachBlock(pool, blocks, k -> {
+            double left = k > 0 ? separators[k - 1] : 0;
+            double right = k < m ? separators[k] : 0;
+            for (int i = lo[k]; i <= hi[k]; i++) {
+                x[i] += v[i] * left + w[i] * right;
+            }
+        });
+
+        return x;
+    }
+
+    /**
+     * Прогонка внутри блока lo..hi одновременно для правой части d и двух спайков:
+     * v - решение с правой частью -a[lo-1] в первой строке блока,
+     * w - решение с правой частью -c[hi] в последней строке блока.
+     */
+    private static void solveBlock(double[] a, double[] b, double[] c, double[] d, int lo, int hi,
+                                   boolean hasLeft, boolean hasRight,
+                                   double[] x, double[] v, double[] w, double[] alpha) {
+        // ПРЯМОЙ ХОД
+        double denominator = b[lo];
+        if (Math.abs(denominator) < 1e-10) {
+            throw new ArithmeticException("Деление на ноль. Метод не применим.");
+        }
+        alpha[lo] = lo < hi ? -c[lo] / denominator : 0;
+        x[lo] = d[lo] / denominator;
+        v[lo] = hasLeft ? -a[lo - 1] / denominator : 0;
+        w[lo] = hasRight && lo == hi ? -c[hi] / denominator : 0;
+
+        for (int i = lo + 1; i <= hi; i++) {
+            denominator = b[i] + a[i - 1] * alpha[i - 1];
+
+            // Проверка деления на ноль
+            if (Math.abs(denominator) < 1e-10) {
+                throw new ArithmeticException("Деление на ноль. Метод не применим.");
+            }
+
+            alpha[i] = i < hi ? -c[i] / denominator : 0;
+            x[i] = (d[i] - a[i - 1] * x[i - 1]) / denominator;
+            v[i] = -a[i - 1] * v[i - 1] / denominator;
+            w[i] = ((hasRight && i == hi ? -c[hi] : 0) - a[i - 1] * w[i - 1]) / denominator;
+        }
+
+        // ОБРАТНЫЙ ХОД
+        for (int i = hi - 1; i >= lo; i--) {
+            x[i] = alpha[i] * x[i + 1] + x[i];
+            v[i] = alpha[i] * v[i + 1] + v[i];
+            w[i] = alpha[i] * w[i + 1] + w[i];
+        }
+    }
+
+    /**
+     * Выполняет body(k) для k = 0..count-1 в пуле и ждет завершения всех задач
+     */
+    private static void forEachBlock(ForkJoinPool pool, int count, IntConsumer body) {
+        List<RecursiveAction> tasks = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int block = k;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    body.accept(block);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Генерирует случайную систему с диагональным преобладанием: {a, b, c, d}
+     */
+    private static double[][] randomSystem(int n, Random random) {
+        double[] a = new double[n - 1];
+        double[] b = new double[n];
+        double[] c = new double[n - 1];
+        double[] d = new double[n];
+        for (int i = 0; i < n - 1; i++) {
+            a[i] = random.nextDouble() - 0.5;
+            c[i] = random.nextDouble() - 0.5;
+        }
+        for (int i = 0; i < n; i++) {
+            b[i] = 2 + random.nextDouble();
+            d[i] = random.nextDouble() * 10 - 5;
+        }
+        return new double[][]{a, b, c, d};
+    }
+
+    private static double maxDifference(double[] x, double[] y) {
+        double max = 0;
+        for (int i = 0; i < x.length; i++) {
+            max = Math.max(max, Math.abs(x[i] - y[i]));
+        }
+        return max;
+    }
+
+    /**
+     * Сравнивает параллельный метод с последовательной прогонкой
+     * по точности и времени работы.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        System.out.println("=== Параллельная прогонка (метод разбиения) ===");
+        System.out.println("Потоков в пуле: " + pool.getParallelism() + "\n");
+
+        // Проверка на малых системах с произвольным числом блоков
+        System.out.println("Сравнение с TridiagonalSolver.solve:");
+        int[][] cases = {{3, 2}, {10, 2}, {11, 3}, {100, 7}, {1000, 16}, {12345, 50}};
+        for (int[] test : cases) {
+            double[][] s = randomSystem(test[0], random);
+            double[] expected = TridiagonalSolver.solve(s[0], s[1], s[2], s[3]);
+            double[] actual = solvePartitioned(s[0], s[1], s[2], s[3], test[1], pool);
+            double difference = maxDifference(expected, actual);
+            System.out.printf("n = %-6d блоков = %-3d макс. разница: %.2e%n",
+                    test[0], test[1], difference);
+            checkDifference(difference);
+        }
+
+        // Производительность на большой системе
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        double[][] s = randomSystem(n, random);
+        System.out.println("\nБольшая система, n = " + n + ":");
+        for (int repeat = 0; repeat < 3; repeat++) {
+            long start = System.nanoTime();
+            double[] serial = TridiagonalSolver.solve(s[0], s[1], s[2], s[3]);
+            long serialTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double[] parallel = solve(s[0], s[1], s[2], s[3], pool);
+            long parallelTime = System.nanoTime() - start;
+
+            double difference = maxDifference(serial, parallel);
+            System.out.printf("последовательно: %8.2f мс, параллельно: %8.2f мс, ускорение: %.2f, разница: %.2e%n",
+                    serialTime / 1e6, parallelTime / 1e6, (double) serialTime / parallelTime, difference);
+            checkDifference(difference);
+        }
+    }
+
+    private static void checkDifference(double difference) {
+        if (!(difference <= TOLERANCE)) {
+            throw new IllegalStateException("Расхождение с последовательной прогонкой: " + difference);
+        }
+    }
+}
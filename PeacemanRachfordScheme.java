@@ -0,0 +1,218 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Теплопроводность в квадрате: продольно-поперечная схема
+ * Писмена-Рэчфорда (ADI)
+ *
+ * Схема Писмена-Рэчфорда для u_t = u_xx + u_yy в единичном квадрате
+ * с нулевыми граничными условиями. Шаг tau делится на два полушага:
+ * (I - r/2 Dxx) u* = (I + r/2 Dyy) u^j,  (I - r/2 Dyy) u^{j+1} = (I + r/2 Dxx) u*,
+ * r = tau/h^2. Схема безусловно устойчива и имеет второй порядок по tau,
+ * поэтому шаг выбирается из соображений точности.
+ *
+ * На каждом полушаге решаются N-1 независимых трехдиагональных систем с одной и той
+ * же матрицей, факторизованной один раз. Правые части хранятся вперемешку
+ * ({@link TridiagonalSolver.Factorization#solveColumns}): полушаг по x работает
+ * с массивом w[i * n + j], полушаг по y - с u[j * n + i], а при вычислении правых
+ * частей данные транспонируются блоками. Столбцы делятся на полосы между потоками
+ * {@link StripeWorkerPool}, между полушагами - барьер.
+ */
+public class PeacemanRachfordScheme implements TimeSteppingScheme, StripeKernel {
+    /** Шаг по умолчанию (явной схеме при N = 100 нужен tau <= h^2/4 = 2.5e-5) */
+    static final double DEFAULT_TAU = 0.005;
+    /**
+     * Первые шаги заменяются двумя полушагами локально-одномерной неявной схемы
+     * Эйлера (старт Раннахера), чтобы разрывное начальное условие не давало колебаний
+     */
+    private static final int STARTUP_STEPS = 2;
+    /** Строк в блоке транспонирования */
+    private static final int BLOCK = 32;
+    /** Минимальное число узлов, при котором полушаги считаются несколькими потоками */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final int N;       // Количество отрезков по каждой оси
+    private final int n;       // Внутренних узлов по каждой оси
+    private final double h;    // Шаг по пространству
+    private final double tau;  // Шаг по времени
+    private final TridiagonalSolver.Factorization factorization; // I - r/2 D
+    private final double[] u;  // Слой: внутренний узел (i, j) - u[j * n + i]
+    private final double[] w;  // Промежуточный слой u*: w[i * n + j]
+    private long pass = 0;     // Сколько проходов (пар полушагов) сделано
+    private StripeWorkerPool pool;
+
+    PeacemanRachfordScheme(int N, double tau) {
+        if (N < 3 || !(tau > 0)) {
+            throw new IllegalArgumentException("Неверные параметры схемы");
+        }
+        if ((long) (N - 1) * (N - 1) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Слишком большая сетка");
+        }
+        this.N = N;
+        this.n = N - 1;
+        this.h = 1.0 / N;
+        this.tau = tau;
+
+        double s = 0.5 * tau / (h * h);
+        double[] a = new double[n - 1];
+        double[] b = new double[n];
+        double[] c = new double[n - 1];
+        Arrays.fill(a, -s);
+        Arrays.fill(b, 1 + 2 * s);
+        Arrays.fill(c, -s);
+        factorization = TridiagonalSolver.factor(a, b, c);
+
+        u = new double[n * n];
+        w = new double[n * n];
+        initialize();
+    }
+
+    private void initialize() {
+        // Начальное условие: "горб" температуры в квадрате (0.4, 0.6)^2
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                u[j * n + i] = inside(j + 1) && inside(i + 1) ? 1.0 : 0.0;
+            }
+        }
+    }
+
+    private boolean inside(int i) {
+        double x = i * h;
+        return x > 0.4 && x < 0.6;
+    }
+
+    /**
+     * Коэффициент явной части текущего прохода: r/2, а в стартовых
+     * полушагах Эйлера (шаг tau/2, та же матрица) - ноль
+     */
+    private double explicitWeight() {
+        return pass < 2 * STARTUP_STEPS ? 0 : 0.5 * tau / (h * h);
+    }
+
+    @Override
+    public int stripeLength() {
+        return n;
+    }
+
+    @Override
+    public int phases() {
+        return 2;
+    }
+
+    /**
+     * Этап 0 - полушаг по x для строк j = from..to-1,
+     * этап 1 - полушаг по y для столбцов i = from..to-1
+     */
+    @Override
+    public void computeStripe(int phase, int from, int to) {
+        double[] source = phase == 0 ? u : w;
+        double[] target = phase == 0 ? w : u;
+        double e = explicitWeight();
+        double center = 1 - 2 * e;
+
+        // target[k * n + line] = (I + e D) source по направлению, поперечному линии,
+        // source[line * n + k] - соседние по k элементы одной линии лежат рядом
+        for (int block = from; block < to; block += BLOCK) {
+            int blockEnd = Math.min(block + BLOCK, to);
+            for (int k = 0; k < n; k++) {
+                int row = k * n;
+                for (int line = block; line < blockEnd; line++) {
+                    int p = line * n + k;
+                    double value = center * source[p];
+                    if (line > 0) value += e * source[p - n];
+                    if (line < n - 1) value += e * source[p + n];
+                    target[row + line] = value;
+                }
+            }
+        }
+        factorization.solveColumns(target, n, from, to);
+    }
+
+    @Override
+    public void completeLayer() {
+        pass++;
+    }
+
+    /**
+     * Сколько проходов нужно сделать от начала, чтобы получить step шагов
+     */
+    private static long passesFor(long step) {
+        return step <= STARTUP_STEPS ? 2 * step : step + STARTUP_STEPS;
+    }
+
+    @Override
+    public void advance(long steps) {
+        long passes = passesFor(steps() + steps) - pass;
+        if (isParallel()) {
+            pool.advance(passes);
+            return;
+        }
+        for (long k = 0; k < passes; k++) {
+            computeStripe(0, 0, n);
+            computeStripe(1, 0, n);
+            completeLayer();
+        }
+    }
+
+    @Override
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Неверное количество потоков");
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        if (threads > 1) {
+            pool = new StripeWorkerPool(this, threads);
+        }
+    }
+
+    @Override
+    public void reset() {
+        pass = 0;
+        initialize();
+    }
+
+    @Override
+    public long stepsUntil(double tEnd) {
+        return TimeSteppingScheme.stepsUntil(steps(), tau, tEnd);
+    }
+
+    @Override
+    public double time() {
+        return steps() * tau;
+    }
+
+    @Override
+    public long steps() {
+        return pass <= 2 * STARTUP_STEPS ? pass / 2 : pass - STARTUP_STEPS;
+    }
+
+    @Override
+    public long nodes() {
+        return (long) n * n;
+    }
+
+    @Override
+    public boolean isParallel() {
+        return pool != null && (long) n * n >= PARALLEL_THRESHOLD;
+    }
+
+    @Override
+    public Snapshot snapshot(int maxPoints) {
+        int stride = Math.max(1, (N + maxPoints) / maxPoints);
+        int side = N / stride + 1;
+        double[] result = new double[side * side];
+        for (int j = 0; j < side; j++) {
+            int y = Math.min(j * stride, N);
+            for (int i = 0; i < side; i++) {
+                int x = Math.min(i * stride, N);
+                boolean boundary = x == 0 || x == N || y == 0 || y == N;
+                result[j * side + i] = boundary ? 0 : u[(y - 1) * n + x - 1];
+            }
+        }
+        return new Snapshot(result, side, side);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example;
+
+/**
+ * Движок: считает схему в отдельном потоке с максимальной скоростью
+ * и публикует прореженные снимки (или не публикует в пакетном режиме)
+ */
+public class SimulationEngine implements Runnable {
+    /** Получатель снимков слоя */
+    interface SnapshotListener {
+        void onSnapshot(Snapshot snapshot, double time, double stepsPerSecond);
+    }
+
+    private static final int SNAPSHOT_POINTS = 2000; // узлов в снимке по каждой оси
+    private static final long SNAPSHOT_INTERVAL = 30_000_000L; // нс между снимками (~33 FPS)
+    private static final int CHECK_INTERVAL = 64; // шагов в пачке между проверками времени
+
+    private final TimeSteppingScheme scheme;
+    private final SnapshotListener listener;
+    private volatile double endTime = Double.POSITIVE_INFINITY;
+    private volatile double maxStepsPerSecond = 0; // 0 - без ограничения
+    private volatile boolean running;
+    private final Object pacing = new Object(); // ожидание при ограничении скорости
+    private Thread thread;
+
+    SimulationEngine(TimeSteppingScheme scheme, SnapshotListener listener) {
+        this.scheme = scheme;
+        this.listener = listener;
+    }
+
+    void setEndTime(double endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * Ограничивает скорость счета (0 - считать с максимальной скоростью)
+     */
+    void setMaxStepsPerSecond(double maxStepsPerSecond) {
+        synchronized (pacing) {
+            this.maxStepsPerSecond = maxStepsPerSecond;
+            pacing.notifyAll();
+        }
+    }
+
+    synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "simulation-engine");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    synchronized void stop() {
+        // Будим поток, ждущий при ограничении скорости. Прерывание не используется:
+        // оно сломало бы барьеры StripeWorkerPool посреди шага.
+        synchronized (pacing) {
+            running = false;
+            pacing.notifyAll();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Останавливает счет, возвращает схему к начальному условию и запускает заново
+     */
+    synchronized void restart() {
+        stop();
+        scheme.reset();
+        publish(0);
+        start();
+    }
+
+    /**
+     * Считает до endTime в текущем потоке
+     */
+    void runToEnd() {
+        running = true;
+        run();
+    }
+
+    @Override
+    public void run() {
+        // Скорость и ограничение отсчитываются от последней смены ограничения
+        long startTime = System.nanoTime();
+        long startStep = scheme.steps();
+        double startLimit = maxStepsPerSecond;
+        long lastSnapshot = 0;
+        double rate = 0;
+
+        while (running) {
+            if (maxStepsPerSecond != startLimit) {
+                startTime = System.nanoTime();
+                startStep = scheme.steps();
+                startLimit = maxStepsPerSecond;
+            }
+            long remaining = scheme.stepsUntil(endTime);
+            if (remaining == 0) {
+                break;
+            }
+            // Без ограничения скорости считаем пачками, чтобы работало временное блокирование
+            scheme.advance(maxStepsPerSecond > 0 ? 1 : Math.min(remaining, CHECK_INTERVAL));
+
+            long steps = scheme.steps() - startStep;
+
+            long now = System.nanoTime();
+            rate = steps / ((now - startTime) / 1e9);
+            if (listener != null && now - lastSnapshot >= SNAPSHOT_INTERVAL) {
+                publish(rate);
+                lastSnapshot = now;
+            }
+
+            // Ограничение скорости: ждем, пока реальное время догонит расчетное
+            double limit = startLimit;
+            if (limit > 0) {
+                long target = startTime + (long) (steps / limit * 1e9);
+                long wait = target - System.nanoTime();
+                if (wait > 1_000_000L) {
+                    try {
+                        synchronized (pacing) {
+                            if (running) {
+                                pacing.wait(wait / 1_000_000L);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        publish(rate);
+        running = false;
+    }
+
+    private void publish(double rate) {
+        if (listener != null) {
+            listener.onSnapshot(scheme.snapshot(SNAPSHOT_POINTS), scheme.time(), rate);
+        }
+    }
+}
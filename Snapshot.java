@@ -0,0 +1,17 @@
+package com.example;
+
+/**
+ * Прореженная копия слоя: строка (height = 1) или изображение width x height,
+ * значение узла (i, j) - values[j * width + i]
+ */
+public final class Snapshot {
+    final double[] values;
+    final int width;
+    final int height;
+
+    Snapshot(double[] values, int width, int height) {
+        this.values = values;
+        this.width = width;
+        this.height = height;
+    }
+}
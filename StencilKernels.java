@@ -0,0 +1,170 @@
+package com.example;
+
+/**
+ * Ядра трехточечных шаблонов для трехслойных схем лабораторной 9:
+ * схема "Крест" для волнового уравнения и схема Дюфорта-Франкля
+ * для уравнения теплопроводности.
+ *
+ * Коэффициенты вычисляются один раз до цикла, деление на 1 + lambda заменено
+ * умножением на заранее вычисленную обратную величину. Скалярная и векторная
+ * версии выполняют операции в одном порядке и дают побитово одинаковый результат.
+ *
+ * Векторная версия подключается через {@link VectorSupport}.
+ */
+public class StencilKernels {
+    /** Векторные версии ядер; возвращают первый узел, не обработанный векторно */
+    interface VectorKernel {
+        int wave(double[] prev, double[] curr, double[] next, int from, int to, double r);
+
+        int dufortFrankel(double[] prev, double[] curr, double[] next, int from, int to, double lambda);
+    }
+
+    /** Векторное ядро или null, если модуль jdk.incubator.vector недоступен */
+    private static final VectorKernel VECTOR =
+            VectorSupport.load(VectorKernel.class, "com.example.VectorStencilKernel");
+
+    private StencilKernels() {
+    }
+
+    /**
+     * Схема "Крест": next[i] = 2*curr[i] - prev[i] + r*(curr[i+1] - 2*curr[i] + curr[i-1])
+     * для i = from..to-1
+     *
+     * @param r квадрат числа Куранта (tau/h)^2
+     */
+    public static void wave(double[] prev, double[] curr, double[] next, int from, int to, double r) {
+        int i = from;
+        if (VECTOR != null) {
+            i = VECTOR.wave(prev, curr, next, from, to, r);
+        }
+        waveScalar(prev, curr, next, i, to, r);
+    }
+
+    /**
+     * Скалярная версия схемы "Крест"
+     */
+    public static void waveScalar(double[] prev, double[] curr, double[] next, int from, int to, double r) {
+        for (int i = from; i < to; i++) {
+            next[i] = 2 * curr[i] - prev[i] + r * (curr[i + 1] - 2 * curr[i] + curr[i - 1]);
+        }
+    }
+
+    /**
+     * Схема Дюфорта-Франкля:
+     * next[i] = ((1 - lambda)*prev[i] + lambda*(curr[i+1] + curr[i-1])) / (1 + lambda)
+     * для i = from..to-1
+     *
+     * @param lambda 2*tau/h^2
+     */
+    public static void dufortFrankel(double[] prev, double[] curr, double[] next, int from, int to, double lambda) {
+        int i = from;
+        if (VECTOR != null) {
+            i = VECTOR.dufortFrankel(prev, curr, next, from, to, lambda);
+        }
+        dufortFrankelScalar(prev, curr, next, i, to, lambda);
+    }
+
+    /**
+     * Скалярная версия схемы Дюфорта-Франкля
+     */
+    public static void dufortFrankelScalar(double[] prev, double[] curr, double[] next, int from, int to, double lambda) {
+        double keep = 1 - lambda;
+        double inverse = 1 / (1 + lambda);
+        for (int i = from; i < to; i++) {
+            next[i] = (keep * prev[i] + lambda * (curr[i + 1] + curr[i - 1])) * inverse;
+        }
+    }
+
+    /**
+     * Сравнивает скорость (обновленных узлов в секунду): исходный цикл с делением
+     * в каждом узле, скалярные и векторные ядра с вынесенными коэффициентами.
+     * Без векторного ядра столбец векторной версии не выводится.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 16;
+        double h = 1.0 / n;
+        double r = 0.25;
+        double lambda = 2 * 0.0005 / (h * h);
+
+        double[] prev = new double[n + 1];
+        double[] curr = new double[n + 1];
+        double[] next = new double[n + 1];
+        double[] check = new double[n + 1];
+        for (int i = 0; i <= n; i++) {
+            prev[i] = Math.sin(Math.PI * i * h);
+            curr[i] = Math.sin(Math.PI * i * h) * 0.999;
+        }
+
+        boolean vector = VECTOR != null;
+        System.out.println("=== Ядра трехслойных схем ===");
+        System.out.println("Узлов: " + n + ", ядро: " + (vector
+                ? "векторное (" + VECTOR.getClass().getSimpleName() + ")"
+                : "скалярное (векторное ядро не загружено, нужен --add-modules jdk.incubator.vector)") + "\n");
+        if (vector) {
+            System.out.printf("%-10s %-20s %-20s %-20s %-12s%n",
+                    "схема", "исходный, узлов/с", "скаляр, узлов/с", "вектор, узлов/с", "разница");
+        } else {
+            System.out.printf("%-10s %-20s %-20s %-12s%n",
+                    "схема", "исходный, узлов/с", "скаляр, узлов/с", "разница");
+        }
+
+        int repeats = Math.max(3, 200_000_000 / n);
+        for (String scheme : new String[]{"крест", "ромб"}) {
+            boolean heat = scheme.equals("ромб");
+            double originalRate = 0, scalarRate = 0, vectorRate = 0;
+            for (int warmup = 0; warmup < 3; warmup++) {
+                long start = System.nanoTime();
+                for (int k = 0; k < repeats; k++) {
+                    if (heat) {
+                        // Исходный цикл: знаменатель и деление в каждом узле
+                        for (int i = 1; i < n; i++) {
+                            double term1 = (1 - lambda) * prev[i];
+                            double term2 = lambda * (curr[i + 1] + curr[i - 1]);
+                            double denominator = 1 + lambda;
+                            check[i] = (term1 + term2) / denominator;
+                        }
+                    } else {
+                        for (int i = 1; i < n; i++) {
+                            check[i] = 2 * curr[i] - prev[i] + r * (curr[i + 1] - 2 * curr[i] + curr[i - 1]);
+                        }
+                    }
+                }
+                originalRate = (double) repeats * (n - 1) / ((System.nanoTime() - start) / 1e9);
+
+                start = System.nanoTime();
+                for (int k = 0; k < repeats; k++) {
+                    if (heat) {
+                        dufortFrankelScalar(prev, curr, next, 1, n, lambda);
+                    } else {
+                        waveScalar(prev, curr, next, 1, n, r);
+                    }
+                }
+                scalarRate = (double) repeats * (n - 1) / ((System.nanoTime() - start) / 1e9);
+
+                if (vector) {
+                    start = System.nanoTime();
+                    for (int k = 0; k < repeats; k++) {
+                        if (heat) {
+                            dufortFrankel(prev, curr, next, 1, n, lambda);
+                        } else {
+                            wave(prev, curr, next, 1, n, r);
+                        }
+                    }
+                    vectorRate = (double) repeats * (n - 1) / ((System.nanoTime() - start) / 1e9);
+                }
+            }
+
+            double maxDifference = 0;
+            for (int i = 1; i < n; i++) {
+                maxDifference = Math.max(maxDifference, Math.abs(check[i] - next[i]));
+            }
+            if (vector) {
+                System.out.printf("%-10s %-20.3e %-20.3e %-20.3e %-12.2e%n",
+                        scheme, originalRate, scalarRate, vectorRate, maxDifference);
+            } else {
+                System.out.printf("%-10s %-20.3e %-20.3e %-12.2e%n",
+                        scheme, originalRate, scalarRate, maxDifference);
+            }
+        }
+    }
+}
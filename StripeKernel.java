@@ -0,0 +1,16 @@
+package com.example;
+
+/** Слой, который можно считать независимыми полосами */
+public interface StripeKernel {
+    /** Сколько единиц (узлов, строк, плоскостей) делится на полосы */
+    int stripeLength();
+
+    /** Сколько этапов с барьером между ними составляют один слой */
+    int phases();
+
+    /** Считает единицы from..to-1 этапа phase следующего слоя */
+    void computeStripe(int phase, int from, int to);
+
+    /** Вызывается одним потоком, когда все полосы последнего этапа слоя посчитаны */
+    void completeLayer();
+}
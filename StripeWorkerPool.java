@@ -0,0 +1,93 @@
+package com.example;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Постоянные потоки для параллельного счета слоев: внутренние узлы
+ * делятся на полосы по числу потоков, между слоями (и этапами слоя) - барьер
+ */
+public class StripeWorkerPool implements AutoCloseable {
+    private final StripeKernel kernel;
+    private final int threads;
+    private final Thread[] workers;
+    private final CyclicBarrier start;  // запуск пачки шагов
+    private final CyclicBarrier phase;  // конец промежуточного этапа слоя
+    private final CyclicBarrier layer;  // конец слоя, действие барьера сдвигает слои
+    private long pendingSteps;
+    private boolean closed;
+
+    StripeWorkerPool(StripeKernel kernel, int threads) {
+        this.kernel = kernel;
+        this.threads = threads;
+        this.start = new CyclicBarrier(threads);
+        this.phase = new CyclicBarrier(threads);
+        this.layer = new CyclicBarrier(threads, kernel::completeLayer);
+
+        // Поток 0 - вызывающий, остальные ждут команды на барьере start
+        workers = new Thread[threads - 1];
+        for (int w = 1; w < threads; w++) {
+            int id = w;
+            workers[w - 1] = new Thread(() -> workerLoop(id), "stripe-worker-" + w);
+            workers[w - 1].setDaemon(true);
+            workers[w - 1].start();
+        }
+    }
+
+    /**
+     * Делает steps шагов, вызывающий поток считает первую полосу
+     */
+    void advance(long steps) {
+        pendingSteps = steps; // публикуется для остальных потоков барьером start
+        await(start);
+        computeSteps(0, steps);
+    }
+
+    private void workerLoop(int id) {
+        while (true) {
+            await(start);
+            if (closed) {
+                return;
+            }
+            computeSteps(id, pendingSteps);
+        }
+    }
+
+    private void computeSteps(int id, long steps) {
+        int length = kernel.stripeLength();
+        int from = (int) ((long) length * id / threads);
+        int to = (int) ((long) length * (id + 1) / threads);
+        int phases = kernel.phases();
+        for (long k = 0; k < steps; k++) {
+            for (int p = 0; p < phases; p++) {
+                kernel.computeStripe(p, from, to);
+                await(p == phases - 1 ? layer : phase);
+            }
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Поток счета прерван", e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Поток счета прерван", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        await(start);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
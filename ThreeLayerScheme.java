@@ -0,0 +1,228 @@
+package com.example;
+
+/**
+ * Трехслойная разностная схема без привязки к интерфейсу
+ */
+public abstract class ThreeLayerScheme implements TimeSteppingScheme, StripeKernel {
+    /** Узлов в одной плитке временного блокирования (слои плитки помещаются в кэш) */
+    private static final int TILE_SIZE = 4096;
+    /** Сколько слоев по времени считается внутри плитки за один проход */
+    private static final int TIME_BLOCK = 8;
+    /** Минимальное число узлов, при котором слои считаются несколькими потоками */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    protected double[] x;      // Сетка по X
+    protected double[] u_prev; // Слой j-1
+    protected double[] u_curr; // Слой j
+    protected double[] u_next; // Слой j+1
+    protected final int N;     // Количество узлов по пространству
+    protected double L = 1.0;  // Длина отрезка
+    protected double h;        // Шаг по пространству
+    protected double tau;      // Шаг по времени
+    protected long timeStep = 0;
+
+    private double[] spare;    // Второй выходной массив для временного блокирования
+    private double[][] tile;   // Три локальных слоя плитки
+    private StripeWorkerPool pool; // Потоки для параллельного счета слоев
+
+    public ThreeLayerScheme(int N) {
+        if (N < 2) {
+            throw new IllegalArgumentException("Неверное количество узлов");
+        }
+        this.N = N;
+        this.h = L / N;
+        this.x = new double[N + 1];
+        for (int i = 0; i <= N; i++) x[i] = i * h;
+
+        u_prev = new double[N + 1];
+        u_curr = new double[N + 1];
+        u_next = new double[N + 1];
+
+        initialize();
+    }
+
+    protected abstract void initialize();
+
+    /**
+     * Вычисляет next[i] для i = from..to-1 по слоям curr и prev.
+     * Узел i зависит только от curr[i-1], curr[i], curr[i+1] и prev[i].
+     */
+    protected abstract void updateRange(double[] prev, double[] curr, double[] next, int from, int to);
+
+    @Override
+    public int stripeLength() {
+        return N - 1;
+    }
+
+    @Override
+    public int phases() {
+        return 1;
+    }
+
+    @Override
+    public void computeStripe(int phase, int from, int to) {
+        updateRange(u_prev, u_curr, u_next, 1 + from, 1 + to);
+    }
+
+    /**
+     * Завершает шаг после вычисления внутренних узлов u_next
+     */
+    @Override
+    public void completeLayer() {
+        // Граничные условия: закрепленные концы струны / нулевая температура на концах стержня
+        u_next[0] = 0;
+        u_next[N] = 0;
+
+        // Сдвиг слоев без копирования: curr -> prev, next -> curr,
+        // освободившийся prev станет следующим next
+        double[] free = u_prev;
+        u_prev = u_curr;
+        u_curr = u_next;
+        u_next = free;
+
+        timeStep++;
+    }
+
+    /**
+     * Задает число потоков счета (1 - последовательный счет).
+     * Потоки создаются один раз и живут до следующего вызова.
+     */
+    @Override
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Неверное количество потоков");
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        if (threads > 1) {
+            pool = new StripeWorkerPool(this, threads);
+        }
+    }
+
+    @Override
+    public void reset() {
+        timeStep = 0;
+        initialize();
+    }
+
+    /**
+     * Один шаг по времени
+     */
+    public void step() {
+        updateRange(u_prev, u_curr, u_next, 1, N);
+        completeLayer();
+    }
+
+    /**
+     * Делает steps шагов по времени. На больших сетках слои считаются
+     * блоками по TIME_BLOCK шагов внутри плиток или полосами в нескольких
+     * потоках; результат совпадает с пошаговым счетом побитово.
+     */
+    @Override
+    public void advance(long steps) {
+        if (isParallel()) {
+            pool.advance(steps);
+            return;
+        }
+        while (steps > 0) {
+            if (N + 1 < 2 * TILE_SIZE || steps < 2) {
+                step();
+                steps--;
+            } else {
+                int block = (int) Math.min(steps, TIME_BLOCK);
+                advanceTiled(block);
+                steps -= block;
+            }
+        }
+    }
+
+    /**
+     * Временное блокирование с перекрывающимися плитками: плитка [s, e) вместе
+     * с полосой шириной block с каждой стороны копируется в локальные слои,
+     * на каждом шаге считаемая область сужается на узел с каждой стороны,
+     * и через block шагов слои j-1 и j верны на всей [s, e).
+     * Плитки пишут результат в отдельные массивы, поэтому не мешают соседям.
+     */
+    private void advanceTiled(int block) {
+        int width = TILE_SIZE + 2 * block;
+        if (spare == null) {
+            spare = new double[N + 1];
+        }
+        if (tile == null || tile[0].length < width) {
+            tile = new double[3][width];
+        }
+        double[] outPrev = u_next;
+        double[] outCurr = spare;
+
+        for (int s = 0; s <= N; s += TILE_SIZE) {
+            int e = Math.min(s + TILE_SIZE, N + 1);
+            int lo = Math.max(0, s - block);
+            int hi = Math.min(N + 1, e + block);
+
+            double[] prev = tile[0];
+            double[] curr = tile[1];
+            double[] next = tile[2];
+            System.arraycopy(u_prev, lo, prev, 0, hi - lo);
+            System.arraycopy(u_curr, lo, curr, 0, hi - lo);
+
+            for (int k = 1; k <= block; k++) {
+                int from = Math.max(1, s - block + k);
+                int to = Math.min(N, e + block - k);
+                updateRange(prev, curr, next, from - lo, to - lo);
+                if (lo == 0) next[0] = 0;
+                if (hi == N + 1) next[N - lo] = 0;
+
+                double[] free = prev;
+                prev = curr;
+                curr = next;
+                next = free;
+            }
+
+            System.arraycopy(prev, s - lo, outPrev, s, e - s);
+            System.arraycopy(curr, s - lo, outCurr, s, e - s);
+        }
+
+        spare = u_prev;
+        u_next = u_curr;
+        u_prev = outPrev;
+        u_curr = outCurr;
+        timeStep += block;
+    }
+
+    @Override
+    public double time() {
+        return timeStep * tau;
+    }
+
+    @Override
+    public long steps() {
+        return timeStep;
+    }
+
+    @Override
+    public long nodes() {
+        return N - 1;
+    }
+
+    @Override
+    public long stepsUntil(double tEnd) {
+        return TimeSteppingScheme.stepsUntil(timeStep, tau, tEnd);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return pool != null && N >= PARALLEL_THRESHOLD;
+    }
+
+    @Override
+    public Snapshot snapshot(int maxPoints) {
+        int stride = Math.max(1, (N + maxPoints) / maxPoints);
+        double[] result = new double[N / stride + 1];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = u_curr[Math.min(k * stride, N)];
+        }
+        return new Snapshot(result, result.length, 1);
+    }
+}
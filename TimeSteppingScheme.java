@@ -0,0 +1,50 @@
+package com.example;
+
+/**
+ * Общий вид схемы для движка: шаги по времени и снимки текущего слоя
+ */
+public interface TimeSteppingScheme {
+    /** Возвращает схему к начальному условию */
+    void reset();
+
+    /** Делает steps шагов по времени */
+    void advance(long steps);
+
+    /** Сколько шагов осталось сделать, пока время не достигнет tEnd */
+    long stepsUntil(double tEnd);
+
+    double time();
+
+    long steps();
+
+    /** Число узлов, обновляемых за один шаг */
+    long nodes();
+
+    /** Задает число потоков счета (1 - последовательный счет) */
+    void setThreads(int threads);
+
+    /**
+     * Считаются ли шаги несколькими потоками: кроме числа потоков нужно,
+     * чтобы сетка была не меньше порога параллельного счета схемы
+     */
+    boolean isParallel();
+
+    /** Копия текущего слоя, прореженная до не более чем maxPoints узлов по каждой оси */
+    Snapshot snapshot(int maxPoints);
+
+    /**
+     * Сколько шагов длины tau нужно сделать от шага timeStep, пока время не достигнет tEnd
+     */
+    static long stepsUntil(long timeStep, double tau, double tEnd) {
+        double exact = tEnd / tau;
+        // Бесконечное (или недостижимо далекое) время окончания: считать без ограничения
+        if (!(exact < 0x1p62)) {
+            return Long.MAX_VALUE;
+        }
+        long target = Math.max(timeStep, (long) Math.ceil(exact));
+        // Поправка на округление tEnd / tau - не больше пары шагов в каждую сторону
+        for (int k = 0; k < 2 && target * tau < tEnd; k++) target++;
+        for (int k = 0; k < 2 && target > timeStep && (target - 1) * tau >= tEnd; k++) target--;
+        return target - timeStep;
+    }
+}
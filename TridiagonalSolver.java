@@ -1,7 +1,15 @@
 package com.example;
+import java.util.Arrays;
 import java.util.Scanner;
 
 
+/**
+ * Метод прогонки для трехдиагональных систем, хранящихся в обычных массивах.
+ *
+ * Решение систем из двоичных файлов (отображение в память, java.lang.foreign)
+ * вынесено в {@link OffHeapTridiagonalSolver}, чтобы этот класс не зависел от FFM:
+ * {@code java --enable-preview com.example.OffHeapTridiagonalSolver --binary <вход> <выход>}
+ */
 public class TridiagonalSolver {
     /**
      * Решает СЛАУ с трехдиагональной матрицей методом прогонки
@@ -20,56 +28,298 @@ public class TridiagonalSolver {
     public static double[] solve(double[] a, double[] b, double[] c, double[] d) {
         int n = b.length;
 
+        // Решение и рабочий массив прогоночных коэффициентов alpha
+        double[] x = new double[n];
+        double[] alpha = new double[n];
+
+        solveInto(a, b, c, d, x, alpha);
+        return x;
+    }
+
+    /**
+     * Решает ту же систему, что и {@link #solve}, без выделения памяти:
+     * решение записывается в x, прогоночные коэффициенты alpha - в scratch,
+     * а коэффициенты beta хранятся прямо в x до обратного хода.
+     *
+     * Массив x может совпадать с d - тогда правая часть перезаписывается решением.
+     *
+     * @param a нижняя диагональ (размер n-1)
+     * @param b главная диагональ (размер n)
+     * @param c верхняя диагональ (размер n-1)
+     * @param d правая часть (размер n)
+     * @param x массив для решения (размер n), допускается x == d
+     * @param scratch рабочий массив (размер не меньше n)
+     */
+    public static void solveInto(double[] a, double[] b, double[] c, double[] d,
+                                 double[] x, double[] scratch) {
+        int n = b.length;
+
         // Проверка размерностей
-        if (a.length != n - 1 || c.length != n - 1 || d.length != n) {
+        if (a.length != n - 1 || c.length != n - 1 || d.length != n
+                || x.length != n || scratch.length < n) {
             throw new IllegalArgumentException("Неверные размерности массивов");
         }
 
-        // Массивы для прогоночных коэффициентов (прямой ход)
-        double[] alpha = new double[n];
-        double[] beta = new double[n];
-
-        // Решение
-        double[] x = new double[n];
+        double[] alpha = scratch;
 
         // ПРЯМОЙ ХОД (вычисление прогоночных коэффициентов)
-        // Начальные значения
-        alpha[0] = -c[0] / b[0];
-        beta[0] = d[0] / b[0];
+        // Начальные значения, beta[0] хранится в x[0]
+        if (Math.abs(b[0]) < 1e-10) {
+            throw new ArithmeticException("Деление на ноль. Метод не применим.");
+        }
+        alpha[0] = n > 1 ? -c[0] / b[0] : 0;
+        x[0] = d[0] / b[0];
 
-        // Вычисление alpha[i] и beta[i] для i = 1..n-1
+        // Вычисление alpha[i] и beta[i] (в x[i]) для i = 1..n-1
         for (int i = 1; i < n; i++) {
-            double denominator;
-
-            if (i < n - 1) {
-                // Для i = 1..n-2
-                denominator = b[i] + a[i - 1] * alpha[i - 1];
-                alpha[i] = -c[i] / denominator;
-                beta[i] = (d[i] - a[i - 1] * beta[i - 1]) / denominator;
-            } else {
-                // Для последнего элемента (i = n-1)
-                denominator = b[i] + a[i - 1] * alpha[i - 1];
-                beta[i] = (d[i] - a[i - 1] * beta[i - 1]) / denominator;
-            }
+            double denominator = b[i] + a[i - 1] * alpha[i - 1];
 
             // Проверка деления на ноль
             if (Math.abs(denominator) < 1e-10) {
                 throw new ArithmeticException("Деление на ноль. Метод не применим.");
             }
+
+            if (i < n - 1) {
+                alpha[i] = -c[i] / denominator;
+            }
+            x[i] = (d[i] - a[i - 1] * x[i - 1]) / denominator;
         }
 
         // ОБРАТНЫЙ ХОД (вычисление решения)
-        // Последний элемент
-        x[n - 1] = beta[n - 1];
-
-        // Вычисление x[i] для i = n-2..0
+        // x[n-1] = beta[n-1] уже на месте
         for (int i = n - 2; i >= 0; i--) {
-            x[i] = alpha[i] * x[i + 1] + beta[i];
+            x[i] = alpha[i] * x[i + 1] + x[i];
         }
+    }
 
+    /**
+     * Решает СЛАУ с циклической (периодической) трехдиагональной матрицей:
+     * кроме трех диагоналей, матрица содержит угловые элементы
+     * A[0][n-1] = upperCorner и A[n-1][0] = lowerCorner.
+     *
+     * Используется формула Шермана-Моррисона: матрица представляется как
+     * трехдиагональная A' плюс поправка ранга 1, поэтому достаточно двух прогонок
+     * с матрицей A' - время и память остаются O(n).
+     *
+     * @param a нижняя диагональ (размер n-1)
+     * @param b главная диагональ (размер n)
+     * @param c верхняя диагональ (размер n-1)
+     * @param d правая часть (размер n)
+     * @param lowerCorner элемент A[n-1][0]
+     * @param upperCorner элемент A[0][n-1]
+     * @return решение системы x (размер n)
+     */
+    public static double[] solveCyclic(double[] a, double[] b, double[] c, double[] d,
+                                       double lowerCorner, double upperCorner) {
+        int n = b.length;
+        double[] x = new double[n];
+        solveCyclicInto(a, b, c, d, lowerCorner, upperCorner, x,
+                new double[n], new double[n], new double[n]);
         return x;
     }
 
+    /**
+     * Решает ту же систему, что и {@link #solveCyclic}, без выделения памяти.
+     *
+     * @param x массив для решения (размер n), допускается x == d
+     * @param diagonal рабочий массив для измененной главной диагонали (размер n)
+     * @param correction рабочий массив для поправочного решения (размер n)
+     * @param scratch рабочий массив прогонки (размер не меньше n)
+     */
+    public static void solveCyclicInto(double[] a, double[] b, double[] c, double[] d,
+                                       double lowerCorner, double upperCorner,
+                                       double[] x, double[] diagonal, double[] correction,
+                                       double[] scratch) {
+        int n = b.length;
+
+        // Проверка размерностей
+        if (n < 3) {
+            throw new IllegalArgumentException("Размерность циклической системы должна быть >= 3");
+        }
+        if (diagonal.length != n || correction.length != n) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        if (Math.abs(b[0]) < 1e-10) {
+            throw new ArithmeticException("Деление на ноль. Метод не применим.");
+        }
+
+        // A = A' + u*v^T, где u = (gamma, 0, ..., 0, lowerCorner),
+        // v = (1, 0, ..., 0, upperCorner / gamma)
+        double gamma = -b[0];
+        System.arraycopy(b, 0, diagonal, 0, n);
+        diagonal[0] = b[0] - gamma;
+        diagonal[n - 1] = b[n - 1] - lowerCorner * upperCorner / gamma;
+
+        // Первая прогонка: A' * x = d
+        solveInto(a, diagonal, c, d, x, scratch);
+
+        // Вторая прогонка: A' * z = u
+        Arrays.fill(correction, 0);
+        correction[0] = gamma;
+        correction[n - 1] = lowerCorner;
+        solveInto(a, diagonal, c, correction, correction, scratch);
+
+        // Поправка Шермана-Моррисона: x = x - z * (v^T x) / (1 + v^T z)
+        double factor = (x[0] + upperCorner * x[n - 1] / gamma)
+                / (1 + correction[0] + upperCorner * correction[n - 1] / gamma);
+        for (int i = 0; i < n; i++) {
+            x[i] -= factor * correction[i];
+        }
+    }
+
+    /**
+     * Выполняет прямой ход прогонки для матрицы (a, b, c) один раз.
+     * Полученную факторизацию можно использовать для многих правых частей.
+     *
+     * @param a нижняя диагональ (размер n-1)
+     * @param b главная диагональ (размер n)
+     * @param c верхняя диагональ (размер n-1)
+     * @return факторизация матрицы
+     */
+    public static Factorization factor(double[] a, double[] b, double[] c) {
+        return new Factorization(a, b, c);
+    }
+
+    /**
+     * LU-разложение трехдиагональной матрицы: хранит прогоночные коэффициенты alpha
+     * и обратные знаменатели, поэтому решение для новой правой части сводится
+     * к двум дешевым проходам подстановки без делений и проверок.
+     */
+    public static final class Factorization {
+        private final int n;
+        private final double[] lower;          // нижняя диагональ a (копия)
+        private final double[] alpha;          // прогоночные коэффициенты
+        private final double[] invDenominator; // 1 / (b[i] + a[i-1]*alpha[i-1])
+
+        private Factorization(double[] a, double[] b, double[] c) {
+            n = b.length;
+
+            // Проверка размерностей
+            if (a.length != n - 1 || c.length != n - 1) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+
+            lower = a.clone();
+            alpha = new double[n];
+            invDenominator = new double[n];
+
+            // ПРЯМОЙ ХОД (только коэффициенты, зависящие от матрицы)
+            for (int i = 0; i < n; i++) {
+                double denominator = i == 0 ? b[0] : b[i] + a[i - 1] * alpha[i - 1];
+
+                // Проверка деления на ноль - один раз на всю факторизацию
+                if (Math.abs(denominator) < 1e-10) {
+                    throw new ArithmeticException("Деление на ноль. Метод не применим.");
+                }
+
+                invDenominator[i] = 1.0 / denominator;
+                if (i < n - 1) {
+                    alpha[i] = -c[i] * invDenominator[i];
+                }
+            }
+        }
+
+        /**
+         * @return размерность системы
+         */
+        public int size() {
+            return n;
+        }
+
+        /**
+         * Решает систему для правой части d
+         *
+         * @param d правая часть (размер n)
+         * @return решение системы x (размер n)
+         */
+        public double[] solve(double[] d) {
+            double[] x = new double[n];
+            solve(d, x);
+            return x;
+        }
+
+        /**
+         * Решает систему для правой части d без выделения памяти.
+         *
+         * @param d правая часть (размер n)
+         * @param x массив для решения (размер n), допускается x == d
+         */
+        public void solve(double[] d, double[] x) {
+            if (d.length != n || x.length != n) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+
+            // Прямая подстановка: x[i] = beta[i]
+            x[0] = d[0] * invDenominator[0];
+            for (int i = 1; i < n; i++) {
+                x[i] = (d[i] - lower[i - 1] * x[i - 1]) * invDenominator[i];
+            }
+
+            // Обратная подстановка
+            for (int i = n - 2; i >= 0; i--) {
+                x[i] = alpha[i] * x[i + 1] + x[i];
+            }
+        }
+
+        /**
+         * Решает систему для нескольких правых частей, хранящихся по столбцам
+         * вперемешку: элемент i столбца s лежит в rhs[i * m + s].
+         * Решения записываются на место правых частей; внутренний цикл идет
+         * по соседним элементам памяти, поэтому хорошо векторизуется JIT-компилятором.
+         *
+         * @param rhs правые части (размер n*m), перезаписываются решениями
+         * @param m количество столбцов
+         */
+        public void solveColumns(double[] rhs, int m) {
+            solveColumns(rhs, m, 0, m);
+        }
+
+        /**
+         * Как {@link #solveColumns(double[], int)}, но только для столбцов
+         * from..to-1 - так разные потоки могут обрабатывать разные столбцы.
+         */
+        public void solveColumns(double[] rhs, int m, int from, int to) {
+            if (rhs.length != n * m || from < 0 || to > m || from > to) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+
+            // Прямая подстановка
+            double inv = invDenominator[0];
+            for (int s = from; s < to; s++) {
+                rhs[s] *= inv;
+            }
+            for (int i = 1; i < n; i++) {
+                double ai = lower[i - 1];
+                double invI = invDenominator[i];
+                int row = i * m;
+                int prev = row - m;
+                for (int s = from; s < to; s++) {
+                    rhs[row + s] = (rhs[row + s] - ai * rhs[prev + s]) * invI;
+                }
+            }
+
+            // Обратная подстановка
+            for (int i = n - 2; i >= 0; i--) {
+                double al = alpha[i];
+                int row = i * m;
+                int next = row + m;
+                for (int s = from; s < to; s++) {
+                    rhs[row + s] = al * rhs[next + s] + rhs[row + s];
+                }
+            }
+        }
+
+        /**
+         * Решает систему для набора правых частей, заданных отдельными массивами.
+         * Каждая правая часть перезаписывается своим решением.
+         */
+        public void solveAll(double[][] rhs) {
+            for (double[] d : rhs) {
+                solve(d, d);
+            }
+        }
+    }
+
     /**
      * Проверяет решение, подставляя его в исходную систему
      */
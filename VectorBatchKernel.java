@@ -0,0 +1,77 @@
+package com.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторная реализация {@link BatchTridiagonalSolver.VectorKernel} (создается через {@link VectorSupport})
+ */
+final class VectorBatchKernel implements BatchTridiagonalSolver.VectorKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void solve(double[] a, double[] b, double[] c, double[] d,
+                      double[] x, double[] alpha, int n, int m) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(m);
+
+        // ПРЯМОЙ ХОД: первая строка
+        for (int s = 0; s < bound; s += lanes) {
+            DoubleVector bs = DoubleVector.fromArray(SPECIES, b, s);
+            checkPivots(bs);
+            if (n > 1) {
+                DoubleVector.fromArray(SPECIES, c, s).neg().div(bs).intoArray(alpha, s);
+            }
+            DoubleVector.fromArray(SPECIES, d, s).div(bs).intoArray(x, s);
+        }
+
+        for (int i = 1; i < n; i++) {
+            int row = i * m;
+            int prev = row - m;
+            boolean last = i == n - 1;
+            for (int s = 0; s < bound; s += lanes) {
+                DoubleVector ai = DoubleVector.fromArray(SPECIES, a, prev + s);
+                DoubleVector denominator = DoubleVector.fromArray(SPECIES, b, row + s)
+                        .add(ai.mul(DoubleVector.fromArray(SPECIES, alpha, prev + s)));
+
+                // Проверка деления на ноль
+                checkPivots(denominator);
+
+                if (!last) {
+                    DoubleVector.fromArray(SPECIES, c, row + s).neg().div(denominator)
+                            .intoArray(alpha, row + s);
+                }
+                DoubleVector.fromArray(SPECIES, d, row + s)
+                        .sub(ai.mul(DoubleVector.fromArray(SPECIES, x, prev + s)))
+                        .div(denominator)
+                        .intoArray(x, row + s);
+            }
+        }
+
+        // ОБРАТНЫЙ ХОД
+        for (int i = n - 2; i >= 0; i--) {
+            int row = i * m;
+            int next = row + m;
+            for (int s = 0; s < bound; s += lanes) {
+                DoubleVector.fromArray(SPECIES, alpha, row + s)
+                        .mul(DoubleVector.fromArray(SPECIES, x, next + s))
+                        .add(DoubleVector.fromArray(SPECIES, x, row + s))
+                        .intoArray(x, row + s);
+            }
+        }
+
+        // Оставшиеся системы, не поместившиеся в целый вектор
+        if (bound < m) {
+            BatchTridiagonalSolver.solveScalar(a, b, c, d, x, alpha, n, m, bound);
+        }
+    }
+
+    private static void checkPivots(DoubleVector denominator) {
+        VectorMask<Double> small = denominator.abs().compare(VectorOperators.LT, 1e-10);
+        if (small.anyTrue()) {
+            throw new ArithmeticException("Деление на ноль. Метод не применим.");
+        }
+    }
+}
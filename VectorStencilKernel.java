@@ -0,0 +1,48 @@
+package com.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторная реализация {@link StencilKernels.VectorKernel} (создается через {@link VectorSupport})
+ */
+final class VectorStencilKernel implements StencilKernels.VectorKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int wave(double[] prev, double[] curr, double[] next, int from, int to, double r) {
+        int lanes = SPECIES.length();
+        int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector rv = DoubleVector.broadcast(SPECIES, r);
+
+        for (int i = from; i < bound; i += lanes) {
+            DoubleVector center = DoubleVector.fromArray(SPECIES, curr, i);
+            DoubleVector twice = center.mul(2);
+            DoubleVector laplacian = DoubleVector.fromArray(SPECIES, curr, i + 1).sub(twice)
+                    .add(DoubleVector.fromArray(SPECIES, curr, i - 1));
+            twice.sub(DoubleVector.fromArray(SPECIES, prev, i))
+                    .add(rv.mul(laplacian))
+                    .intoArray(next, i);
+        }
+        return bound;
+    }
+
+    @Override
+    public int dufortFrankel(double[] prev, double[] curr, double[] next, int from, int to, double lambda) {
+        int lanes = SPECIES.length();
+        int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector keep = DoubleVector.broadcast(SPECIES, 1 - lambda);
+        DoubleVector lambdaV = DoubleVector.broadcast(SPECIES, lambda);
+        DoubleVector inverse = DoubleVector.broadcast(SPECIES, 1 / (1 + lambda));
+
+        for (int i = from; i < bound; i += lanes) {
+            DoubleVector neighbours = DoubleVector.fromArray(SPECIES, curr, i + 1)
+                    .add(DoubleVector.fromArray(SPECIES, curr, i - 1));
+            keep.mul(DoubleVector.fromArray(SPECIES, prev, i))
+                    .add(lambdaV.mul(neighbours))
+                    .mul(inverse)
+                    .intoArray(next, i);
+        }
+        return bound;
+    }
+}
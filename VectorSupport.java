@@ -0,0 +1,36 @@
+package com.example;
+
+/**
+ * Подключение векторных ядер на jdk.incubator.vector во время выполнения.
+ *
+ * Классы ядер (VectorBatchKernel, VectorStencilKernel) импортируют инкубаторный модуль
+ * и компилируются с флагом --add-modules jdk.incubator.vector. Остальной код обращается
+ * к ним только через интерфейсы и создает их по имени класса, поэтому решатели
+ * и разностные схемы компилируются и работают без модуля, используя скалярные циклы.
+ */
+public final class VectorSupport {
+    /** Доступен ли модуль jdk.incubator.vector в текущей JVM */
+    public static final boolean AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private VectorSupport() {
+    }
+
+    /**
+     * Создает векторное ядро по имени класса.
+     *
+     * @param type интерфейс ядра
+     * @param className полное имя класса реализации
+     * @return ядро или null, если модуль недоступен или класс не скомпилирован
+     */
+    static <T> T load(Class<T> type, String className) {
+        if (!AVAILABLE) {
+            return null;
+        }
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
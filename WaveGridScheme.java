@@ -0,0 +1,69 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Колебания мембраны: схема "Крест" в 2D/3D
+ */
+public class WaveGridScheme extends GridScheme {
+
+    WaveGridScheme(int dimensions, int N) {
+        super(dimensions, N);
+    }
+
+    @Override
+    protected void initialize() {
+        // Условие устойчивости в d измерениях: tau <= h / sqrt(d), для d <= 3 хватает h/2
+        tau = h * 0.5;
+
+        // Начальное условие: произведение sin(pi * x) по всем осям, начальная скорость 0
+        double[] wave = new double[N + 1];
+        for (int i = 0; i <= N; i++) {
+            wave[i] = i == 0 || i == N ? 0 : Math.sin(Math.PI * i * h);
+        }
+        int kMax = sz == 0 ? 0 : N;
+        for (int k = 0; k <= kMax; k++) {
+            double factor = sz == 0 ? 1 : wave[k];
+            for (int j = 0; j <= N; j++) {
+                for (int i = 0; i <= N; i++) {
+                    u_prev[index(i, j, k)] = factor * wave[j] * wave[i];
+                }
+            }
+        }
+
+        // Второй слой: u_1 = u_0 + (tau^2/2) * u_xx (как в одномерной схеме)
+        double half = 0.5 * (tau * tau) / (h * h);
+        Arrays.fill(u_curr, 0);
+        Arrays.fill(u_next, 0);
+        int kFrom = sz == 0 ? 0 : 1;
+        int kTo = sz == 0 ? 1 : N;
+        for (int k = kFrom; k < kTo; k++) {
+            for (int j = 1; j < N; j++) {
+                for (int i = 1; i < N; i++) {
+                    int p = index(i, j, k);
+                    u_curr[p] = u_prev[p] + half * (neighbours(u_prev, p) - 2 * dimensions * u_prev[p]);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void updateRow(double[] u_prev, double[] u_curr, double[] u_next, int base, int from, int to) {
+        // u^{j+1} = 2u - u^{j-1} + r * (сумма соседей - 2d * u), коэффициенты вынесены из цикла
+        double r = (tau * tau) / (h * h);
+        double center = 2 - 2 * dimensions * r;
+        int sy = this.sy, sz = this.sz;
+        if (sz == 0) {
+            for (int p = base + from; p < base + to; p++) {
+                double sum = u_curr[p - 1] + u_curr[p + 1] + u_curr[p - sy] + u_curr[p + sy];
+                u_next[p] = center * u_curr[p] - u_prev[p] + r * sum;
+            }
+        } else {
+            for (int p = base + from; p < base + to; p++) {
+                double sum = u_curr[p - 1] + u_curr[p + 1] + u_curr[p - sy] + u_curr[p + sy]
+                        + u_curr[p - sz] + u_curr[p + sz];
+                u_next[p] = center * u_curr[p] - u_prev[p] + r * sum;
+            }
+        }
+    }
+}
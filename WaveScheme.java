@@ -0,0 +1,48 @@
+package com.example;
+
+/**
+ * РЕШЕНИЕ 1: Уравнение колебаний (Волновое)
+ * Реализация формул (2), (5) и условия устойчивости (7)
+ */
+public class WaveScheme extends ThreeLayerScheme {
+
+    WaveScheme(int N) {
+        super(N);
+    }
+
+    @Override
+    protected void initialize() {
+        // Условие устойчивости: tau <= h (для a=1).
+        // Источник [30]: корней не превосходят 1, если sigma <= 1.
+        tau = h * 0.5; // Берем с запасом
+
+        // Начальное условие: u(x,0) = sin(pi * x)
+        // Начальная скорость: du/dt(x,0) = 0
+        for (int i = 0; i <= N; i++) {
+            u_prev[i] = Math.sin(Math.PI * x[i]); // Слой j=0
+        }
+
+        // Аппроксимация второго слоя (j=1) с учетом начальной скорости
+        // Источник [22]: u_1 = u_0 + tau*phi + (tau^2/2) * u_xx
+        double r = (tau * tau) / (h * h);
+        for (int i = 1; i < N; i++) {
+            // Вторая производная u_xx ~ (u_{i+1} - 2u_i + u_{i-1}) / h^2
+            double u_xx = (u_prev[i + 1] - 2 * u_prev[i] + u_prev[i - 1]) / (h * h);
+            // Так как начальная скорость (phi) = 0:
+            u_curr[i] = u_prev[i] + 0.5 * (tau * tau) * u_xx;
+        }
+        // Граничные условия (закрепленные концы)
+        u_curr[0] = 0;
+        u_curr[N] = 0;
+    }
+
+    @Override
+    protected void updateRange(double[] u_prev, double[] u_curr, double[] u_next, int from, int to) {
+        // Явная трехслойная схема "Крест"
+        // Источник [9]: u^{j+1} выражается через u^j и u^{j-1}
+        double r = (tau * tau) / (h * h); // Число Куранта в квадрате
+
+        // u_next[i] = 2 * u_curr[i] - u_prev[i] + r * (u_curr[i + 1] - 2 * u_curr[i] + u_curr[i - 1])
+        StencilKernels.wave(u_prev, u_curr, u_next, from, to, r);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example;
+
+import java.util.stream.IntStream;
+
+/**
+ * Бикубический сплайн (тензорное произведение естественных кубических сплайнов)
+ * для значений на прямоугольной сетке x[0..nx-1] x y[0..ny-1].
+ *
+ * Производные fx, fy и fxy в узлах находятся одномерными сплайнами по строкам
+ * и столбцам (узловые факторизации строятся один раз на направление, линии
+ * обрабатываются параллельно). Затем для каждой ячейки заранее вычисляются
+ * 16 коэффициентов многочлена p(t, u) = sum a[k][l] * t^k * u^l, где t, u -
+ * локальные координаты в [0, 1]. Поиск ячейки - как в {@link CubicSpline}:
+ * O(1) на равномерной сетке, иначе O(log n).
+ *
+ * Память: 16 чисел double на ячейку (для 4096 x 4096 - около 2 ГБ).
+ */
+public class BicubicSpline {
+    /** Число точек пакета, начиная с которого вычисление идет параллельно */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /** Число линий сетки в одной параллельной задаче */
+    private static final int LINE_BLOCK = 64;
+
+    /** Матрица перехода от (p0, p1, m0, m1) к коэффициентам кубического многочлена */
+    private static final double[][] HERMITE = {
+            {1, 0, 0, 0},
+            {0, 0, 1, 0},
+            {-3, 3, -2, -1},
+            {2, -2, 1, 1}
+    };
+
+    private final double[] x, y;
+    private final SegmentLocator xLocator, yLocator;
+    private final double[] coefficients; // 16 коэффициентов на ячейку (i, j)
+
+    /**
+     * @param x узлы по первой координате (размер nx)
+     * @param y узлы по второй координате (размер ny)
+     * @param values значения values[i][j] = f(x[i], y[j])
+     */
+    public BicubicSpline(double[] x, double[] y, double[][] values) {
+        int nx = x.length;
+        int ny = y.length;
+        if (values.length != nx) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        for (double[] row : values) {
+            if (row.length != ny) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+        }
+
+        this.x = x;
+        this.y = y;
+        this.xLocator = new SegmentLocator(x);
+        this.yLocator = new SegmentLocator(y);
+        KnotFactorization xKnots = new KnotFactorization(x);
+        KnotFactorization yKnots = new KnotFactorization(y);
+
+        // Производные в узлах, хранение [i * ny + j]
+        double[] fx = new double[nx * ny];
+        double[] fy = new double[nx * ny];
+        double[] fxy = new double[nx * ny];
+
+        // fy и fx: сплайны вдоль y (по строкам i) и вдоль x (по столбцам j)
+        forEachLineBlock(nx, (from, to) -> {
+            double[] slopes = new double[ny], c = new double[ny], z = new double[ny];
+            for (int i = from; i < to; i++) {
+                yKnots.slopes(values[i], slopes, c, z);
+                System.arraycopy(slopes, 0, fy, i * ny, ny);
+            }
+        });
+        forEachLineBlock(ny, (from, to) -> {
+            double[] column = new double[nx], slopes = new double[nx], c = new double[nx], z = new double[nx];
+            for (int j = from; j < to; j++) {
+                for (int i = 0; i < nx; i++) {
+                    column[i] = values[i][j];
+                }
+                xKnots.slopes(column, slopes, c, z);
+                for (int i = 0; i < nx; i++) {
+                    fx[i * ny + j] = slopes[i];
+                }
+            }
+        });
+
+        // fxy: сплайны вдоль y по значениям fx
+        forEachLineBlock(nx, (from, to) -> {
+            double[] row = new double[ny], slopes = new double[ny], c = new double[ny], z = new double[ny];
+            for (int i = from; i < to; i++) {
+                System.arraycopy(fx, i * ny, row, 0, ny);
+                yKnots.slopes(row, slopes, c, z);
+                System.arraycopy(slopes, 0, fxy, i * ny, ny);
+            }
+        });
+
+        // Коэффициенты ячеек
+        int cells = Math.multiplyExact(nx - 1, ny - 1);
+        coefficients = new double[Math.multiplyExact(cells, 16)];
+        forEachLineBlock(nx - 1, (from, to) -> {
+            double[] f = new double[16];
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < ny - 1; j++) {
+                    cellCoefficients(values, fx, fy, fxy, i, j, f);
+                }
+            }
+        });
+    }
+
+    private interface LineRange {
+        void run(int from, int to);
+    }
+
+    private static void forEachLineBlock(int lines, LineRange body) {
+        int blocks = (lines + LINE_BLOCK - 1) / LINE_BLOCK;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int from = block * LINE_BLOCK;
+            body.run(from, Math.min(from + LINE_BLOCK, lines));
+        });
+    }
+
+    /**
+     * Коэффициенты ячейки (i, j): A = M * F * M^T, где F - значения и
+     * масштабированные производные в углах, M - матрица кубического Эрмита.
+     */
+    private void cellCoefficients(double[][] values, double[] fx, double[] fy, double[] fxy,
+                                  int i, int j, double[] f) {
+        int ny = y.length;
+        double hx = x[i + 1] - x[i];
+        double hy = y[j + 1] - y[j];
+        int k00 = i * ny + j, k01 = k00 + 1, k10 = k00 + ny, k11 = k10 + 1;
+
+        // Строки F: значения по x (p0, p1, m0, m1), столбцы - то же по y
+        f[0] = values[i][j];          f[1] = values[i][j + 1];
+        f[2] = fy[k00] * hy;          f[3] = fy[k01] * hy;
+        f[4] = values[i + 1][j];      f[5] = values[i + 1][j + 1];
+        f[6] = fy[k10] * hy;          f[7] = fy[k11] * hy;
+        f[8] = fx[k00] * hx;          f[9] = fx[k01] * hx;
+        f[10] = fxy[k00] * hx * hy;   f[11] = fxy[k01] * hx * hy;
+        f[12] = fx[k10] * hx;         f[13] = fx[k11] * hx;
+        f[14] = fxy[k10] * hx * hy;   f[15] = fxy[k11] * hx * hy;
+
+        int base = (i * (ny - 1) + j) * 16;
+        for (int k = 0; k < 4; k++) {
+            for (int l = 0; l < 4; l++) {
+                double sum = 0;
+                for (int p = 0; p < 4; p++) {
+                    for (int q = 0; q < 4; q++) {
+                        sum += HERMITE[k][p] * f[p * 4 + q] * HERMITE[l][q];
+                    }
+                }
+                coefficients[base + k * 4 + l] = sum;
+            }
+        }
+    }
+
+    /**
+     * Вычисляет значение сплайна в точке (xi, yi)
+     */
+    public double interpolate(double xi, double yi) {
+        return evaluate(xLocator.find(xi), yLocator.find(yi), xi, yi);
+    }
+
+    /**
+     * Вычисляет сплайн в точках (xs[k], ys[k]); большие пакеты делятся между ядрами.
+     */
+    public void interpolate(double[] xs, double[] ys, double[] out) {
+        if (ys.length != xs.length || out.length != xs.length) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        IntStream range = IntStream.range(0, xs.length);
+        if (xs.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(k -> out[k] = interpolate(xs[k], ys[k]));
+    }
+
+    private double evaluate(int i, int j, double xi, double yi) {
+        double t = (xi - x[i]) / (x[i + 1] - x[i]);
+        double u = (yi - y[j]) / (y[j + 1] - y[j]);
+        int base = (i * (y.length - 1) + j) * 16;
+
+        // Схема Горнера по t, внутри - по u
+        double result = 0;
+        for (int k = 3; k >= 0; k--) {
+            int row = base + k * 4;
+            double rowValue = ((coefficients[row + 3] * u + coefficients[row + 2]) * u
+                    + coefficients[row + 1]) * u + coefficients[row];
+            result = result * t + rowValue;
+        }
+        return result;
+    }
+}
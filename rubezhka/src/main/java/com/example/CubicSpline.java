@@ -1,58 +1,233 @@
 package com.example;
 
+import java.util.stream.IntStream;
+
 public class CubicSpline {
+    /** Доступен ли модуль jdk.incubator.vector (иначе пакетное вычисление скалярное) */
+    static final boolean VECTOR_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Размер пакета, начиная с которого точки обрабатываются параллельно */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Число точек в одной порции пакетного вычисления */
+    private static final int CHUNK_SIZE = 1 << 12;
+
     private final double[] x, y, a, b, c, d;
+    private final SegmentLocator locator;
+    private final double[] prefixIntegral; // интеграл от x[0] до x[j]
 
     public CubicSpline(double[] x, double[] y) {
-        int n = x.length;
-        this.x = x;
+        this(new KnotFactorization(x), y);
+    }
+
+    /**
+     * Строит сплайн по готовой факторизации узлов
+     */
+    CubicSpline(KnotFactorization knots, double[] y) {
+        int n = knots.size();
+        this.x = knots.x;
         this.y = y;
+        this.locator = new SegmentLocator(x);
         a = new double[n - 1];
         b = new double[n - 1];
         c = new double[n];
         d = new double[n - 1];
 
-        double[] h = new double[n - 1];
-        for (int i = 0; i < n - 1; i++)
-            h[i] = x[i + 1] - x[i];
-
-        double[] alpha = new double[n - 1];
-        for (int i = 1; i < n - 1; i++)
-            alpha[i] = (3 / h[i]) * (y[i + 1] - y[i]) - (3 / h[i - 1]) * (y[i] - y[i - 1]);
+        knots.solve(y, c, new double[n]);
+        for (int j = n - 2; j >= 0; j--) {
+            b[j] = knots.b(y, c, j);
+            d[j] = knots.d(c, j);
+            a[j] = y[j];
+        }
+        prefixIntegral = buildPrefixIntegral();
+    }
 
-        double[] l = new double[n];
-        double[] mu = new double[n];
-        double[] z = new double[n];
-        l[0] = 1;
-        mu[0] = 0;
-        z[0] = 0;
+    /**
+     * Создает сплайн из готовых коэффициентов (массивы не копируются)
+     */
+    CubicSpline(double[] x, double[] y, double[] a, double[] b, double[] c, double[] d) {
+        this.x = x;
+        this.y = y;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.locator = new SegmentLocator(x);
+        this.prefixIntegral = buildPrefixIntegral();
+    }
 
-        for (int i = 1; i < n - 1; i++) {
-            l[i] = 2 * (x[i + 1] - x[i - 1]) - h[i - 1] * mu[i - 1];
-            mu[i] = h[i] / l[i];
-            z[i] = (alpha[i] - h[i - 1] * z[i - 1]) / l[i];
+    /**
+     * Префиксные суммы точных интегралов по отрезкам
+     */
+    private double[] buildPrefixIntegral() {
+        double[] prefix = new double[x.length];
+        for (int j = 0; j < x.length - 1; j++) {
+            prefix[j + 1] = prefix[j] + segmentIntegral(j, x[j + 1] - x[j]);
         }
-        l[n - 1] = 1;
-        z[n - 1] = 0;
-        c[n - 1] = 0;
+        return prefix;
+    }
 
-        for (int j = n - 2; j >= 0; j--) {
-            c[j] = z[j] - mu[j] * c[j + 1];
-            b[j] = (y[j + 1] - y[j]) / h[j] - h[j] * (c[j + 1] + 2 * c[j]) / 3;
-            d[j] = (c[j + 1] - c[j]) / (3 * h[j]);
-            a[j] = y[j];
-        }
+    /**
+     * Интеграл многочлена отрезка i от x[i] до x[i] + dx
+     */
+    private double segmentIntegral(int i, double dx) {
+        return dx * (a[i] + dx * (b[i] / 2 + dx * (c[i] / 3 + dx * d[i] / 4)));
     }
 
     public double interpolate(double xi) {
-        int i = x.length - 2;
-        for (int j = 0; j < x.length - 1; j++) {
-            if (xi >= x[j] && xi <= x[j + 1]) {
-                i = j;
-                break;
+        return evaluate(locator.find(xi), xi);
+    }
+
+    /**
+     * Первая производная сплайна в точке xi
+     */
+    public double derivative(double xi) {
+        int i = locator.find(xi);
+        double dx = xi - x[i];
+        return b[i] + dx * (2 * c[i] + dx * 3 * d[i]);
+    }
+
+    /**
+     * Вторая производная сплайна в точке xi
+     */
+    public double secondDerivative(double xi) {
+        int i = locator.find(xi);
+        double dx = xi - x[i];
+        return 2 * c[i] + 6 * d[i] * dx;
+    }
+
+    /**
+     * Первообразная сплайна, равная нулю в x[0]
+     */
+    public double antiderivative(double xi) {
+        int i = locator.find(xi);
+        return prefixIntegral[i] + segmentIntegral(i, xi - x[i]);
+    }
+
+    /**
+     * Точный интеграл сплайна по отрезку [u, v] за O(log n)
+     * (для v < u - со знаком минус, вне сетки - по крайним многочленам).
+     */
+    public double integrate(double u, double v) {
+        return antiderivative(v) - antiderivative(u);
+    }
+
+    /**
+     * Вычисляет сплайн в точках xs; результат побитово совпадает с {@link #interpolate(double)}.
+     */
+    public void interpolate(double[] xs, double[] out) {
+        interpolate(xs, out, true);
+    }
+
+    /**
+     * Вычисляет сплайн в точках xs пакетно: многочлены считаются векторными
+     * инструкциями, большие пакеты делятся между ядрами.
+     *
+     * @param xs точки
+     * @param out массив для значений (размер xs.length)
+     * @param strict true - побитовое совпадение с {@link #interpolate(double)},
+     *               false - схема Горнера с FMA (быстрее, отличие в последних битах)
+     */
+    public void interpolate(double[] xs, double[] out, boolean strict) {
+        evaluateBatch(xs, out, strict, false);
+    }
+
+    /**
+     * Как {@link #interpolate(double[], double[])}, но для неубывающих xs:
+     * отрезки проходятся монотонно, без поиска для каждой точки.
+     */
+    public void interpolateSorted(double[] xs, double[] out) {
+        interpolateSorted(xs, out, true);
+    }
+
+    /**
+     * Как {@link #interpolate(double[], double[], boolean)}, но для неубывающих xs.
+     */
+    public void interpolateSorted(double[] xs, double[] out, boolean strict) {
+        evaluateBatch(xs, out, strict, true);
+    }
+
+    private void evaluateBatch(double[] xs, double[] out, boolean strict, boolean sorted) {
+        if (out.length != xs.length) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        int chunks = (xs.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream range = IntStream.range(0, chunks);
+        if (xs.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, xs.length);
+            evaluateChunk(xs, out, from, to, strict, sorted);
+        });
+    }
+
+    private void evaluateChunk(double[] xs, double[] out, int from, int to, boolean strict, boolean sorted) {
+        // Номера отрезков для точек порции
+        int[] segments = new int[to - from];
+        if (sorted) {
+            int last = x.length - 2;
+            int i = locator.find(xs[from]);
+            for (int k = from; k < to; k++) {
+                while (i < last && xs[k] > x[i + 1]) {
+                    i++;
+                }
+                segments[k - from] = i;
+            }
+        } else {
+            for (int k = from; k < to; k++) {
+                segments[k - from] = locator.find(xs[k]);
             }
         }
+
+        int k = from;
+        if (VECTOR_AVAILABLE) {
+            k = VectorSplineKernel.evaluate(x, a, b, c, d, xs, segments, out, from, to, strict);
+        }
+        for (; k < to; k++) {
+            int i = segments[k - from];
+            double dx = xs[k] - x[i];
+            out[k] = strict ? evaluate(i, xs[k]) : Math.fma(Math.fma(Math.fma(d[i], dx, c[i]), dx, b[i]), dx, a[i]);
+        }
+    }
+
+    /**
+     * Создает копию сплайна с упакованными коэффициентами
+     *
+     * @param float32 хранить коэффициенты во float
+     */
+    public PackedCubicSpline pack(boolean float32) {
+        return new PackedCubicSpline(x, a, b, c, d, float32);
+    }
+
+    /**
+     * Создает курсор для последовательных запросов в близких точках
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private double evaluate(int i, double xi) {
         double dx = xi - x[i];
         return a[i] + b[i] * dx + c[i] * dx * dx + d[i] * dx * dx * dx;
     }
-}
\ No newline at end of file
+
+    /**
+     * Курсор запоминает последний найденный отрезок: если следующая точка лежит
+     * в том же или соседнем отрезке, поиск не нужен. Курсор не потокобезопасен -
+     * каждому потоку нужен свой.
+     */
+    public final class Cursor {
+        private int segment;
+
+        private Cursor() {
+        }
+
+        public double interpolate(double xi) {
+            segment = locator.find(xi, segment);
+            return evaluate(segment, xi);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example;
+
+import java.util.stream.IntStream;
+
+/**
+ * Набор естественных кубических сплайнов для многих рядов значений на общей сетке x.
+ *
+ * Шаги h и коэффициенты прогонки l, mu зависят только от x, поэтому
+ * вычисляются один раз; для каждого ряда остаются правая часть и два прохода
+ * подстановки. Ряды обрабатываются блоками параллельно, коэффициенты блока
+ * хранятся в одном непрерывном массиве: для ряда s блока и отрезка j -
+ * четверка (a, b, c, d) начиная с индекса ((s * (n-1)) + j) * 4.
+ */
+public class CubicSplineSeries {
+    /** Число рядов в одном блоке коэффициентов */
+    private static final int BLOCK_SIZE = 16;
+
+    private final KnotFactorization knots;
+    private final SegmentLocator locator;
+    private final int seriesCount;
+    private final double[][] blocks;
+
+    /**
+     * @param x общая сетка узлов (размер n)
+     * @param ys ряды значений, каждый размера n
+     */
+    public CubicSplineSeries(double[] x, double[][] ys) {
+        int n = x.length;
+        for (double[] y : ys) {
+            if (y.length != n) {
+                throw new IllegalArgumentException("Неверные размерности массивов");
+            }
+        }
+
+        knots = new KnotFactorization(x);
+        locator = new SegmentLocator(x);
+        seriesCount = ys.length;
+        blocks = new double[(seriesCount + BLOCK_SIZE - 1) / BLOCK_SIZE][];
+
+        IntStream.range(0, blocks.length).parallel().forEach(block -> {
+            int first = block * BLOCK_SIZE;
+            int count = Math.min(BLOCK_SIZE, seriesCount - first);
+            double[] coefficients = new double[count * (n - 1) * 4];
+            double[] c = new double[n];
+            double[] z = new double[n];
+
+            for (int s = 0; s < count; s++) {
+                double[] y = ys[first + s];
+                knots.solve(y, c, z);
+                int base = s * (n - 1) * 4;
+                for (int j = 0; j < n - 1; j++) {
+                    int k = base + j * 4;
+                    coefficients[k] = y[j];
+                    coefficients[k + 1] = knots.b(y, c, j);
+                    coefficients[k + 2] = c[j];
+                    coefficients[k + 3] = knots.d(c, j);
+                }
+            }
+            blocks[block] = coefficients;
+        });
+    }
+
+    /**
+     * @return число рядов
+     */
+    public int seriesCount() {
+        return seriesCount;
+    }
+
+    /**
+     * Вычисляет значение сплайна ряда series в точке xi
+     */
+    public double interpolate(int series, double xi) {
+        int i = locator.find(xi);
+        double[] coefficients = blocks[series / BLOCK_SIZE];
+        int k = offset(series, i);
+        double dx = xi - knots.x[i];
+        return coefficients[k] + coefficients[k + 1] * dx + coefficients[k + 2] * dx * dx
+                + coefficients[k + 3] * dx * dx * dx;
+    }
+
+    /**
+     * Вычисляет значения всех рядов в точке xi (отрезок ищется один раз)
+     *
+     * @param out массив для значений (размер seriesCount)
+     */
+    public void interpolateAll(double xi, double[] out) {
+        if (out.length != seriesCount) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        int i = locator.find(xi);
+        double dx = xi - knots.x[i];
+        for (int series = 0; series < seriesCount; series++) {
+            double[] coefficients = blocks[series / BLOCK_SIZE];
+            int k = offset(series, i);
+            out[series] = coefficients[k] + coefficients[k + 1] * dx + coefficients[k + 2] * dx * dx
+                    + coefficients[k + 3] * dx * dx * dx;
+        }
+    }
+
+    /**
+     * Создает отдельный {@link CubicSpline} для ряда series (коэффициенты копируются)
+     */
+    public CubicSpline spline(int series) {
+        int n = knots.size();
+        double[] a = new double[n - 1], b = new double[n - 1], c = new double[n], d = new double[n - 1];
+        double[] coefficients = blocks[series / BLOCK_SIZE];
+        for (int j = 0; j < n - 1; j++) {
+            int k = offset(series, j);
+            a[j] = coefficients[k];
+            b[j] = coefficients[k + 1];
+            c[j] = coefficients[k + 2];
+            d[j] = coefficients[k + 3];
+        }
+        double[] y = new double[n];
+        System.arraycopy(a, 0, y, 0, n - 1);
+        double h = knots.h[n - 2];
+        y[n - 1] = a[n - 2] + b[n - 2] * h + c[n - 2] * h * h + d[n - 2] * h * h * h;
+        return new CubicSpline(knots.x, y, a, b, c, d);
+    }
+
+    private int offset(int series, int segment) {
+        return ((series % BLOCK_SIZE) * (knots.size() - 1) + segment) * 4;
+    }
+}
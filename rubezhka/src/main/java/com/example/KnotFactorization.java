@@ -0,0 +1,92 @@
+package com.example;
+
+/**
+ * Часть построения естественного кубического сплайна, зависящая только от узлов x:
+ * шаги h и коэффициенты прямого хода прогонки l, mu для системы на c.
+ * Одна факторизация используется для любого числа рядов значений y на тех же узлах.
+ */
+final class KnotFactorization {
+    final double[] x;
+    final double[] h;
+    final double[] l;
+    final double[] mu;
+
+    KnotFactorization(double[] x) {
+        int n = x.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("Нужно хотя бы два узла");
+        }
+        this.x = x;
+        h = new double[n - 1];
+        for (int i = 0; i < n - 1; i++)
+            h[i] = x[i + 1] - x[i];
+
+        l = new double[n];
+        mu = new double[n];
+        l[0] = 1;
+        mu[0] = 0;
+        for (int i = 1; i < n - 1; i++) {
+            l[i] = 2 * (x[i + 1] - x[i - 1]) - h[i - 1] * mu[i - 1];
+            mu[i] = h[i] / l[i];
+        }
+        l[n - 1] = 1;
+    }
+
+    int size() {
+        return x.length;
+    }
+
+    /**
+     * Вычисляет коэффициенты c[0..n-1] (половины вторых производных) для значений y.
+     *
+     * @param y значения в узлах (размер n)
+     * @param c массив для коэффициентов (размер n)
+     * @param z рабочий массив (размер n)
+     */
+    void solve(double[] y, double[] c, double[] z) {
+        int n = x.length;
+        z[0] = 0;
+        for (int i = 1; i < n - 1; i++) {
+            double alpha = (3 / h[i]) * (y[i + 1] - y[i]) - (3 / h[i - 1]) * (y[i] - y[i - 1]);
+            z[i] = (alpha - h[i - 1] * z[i - 1]) / l[i];
+        }
+        z[n - 1] = 0;
+        c[n - 1] = 0;
+        for (int j = n - 2; j >= 0; j--) {
+            c[j] = z[j] - mu[j] * c[j + 1];
+        }
+    }
+
+    /**
+     * Вычисляет первые производные сплайна во всех узлах для значений y.
+     *
+     * @param y значения в узлах (размер n)
+     * @param slopes массив для производных (размер n)
+     * @param c рабочий массив (размер n)
+     * @param z рабочий массив (размер n)
+     */
+    void slopes(double[] y, double[] slopes, double[] c, double[] z) {
+        int n = x.length;
+        solve(y, c, z);
+        for (int j = 0; j < n - 1; j++) {
+            slopes[j] = b(y, c, j);
+        }
+        // В последнем узле: b + 2c*h + 3d*h^2 = b + h*(c[j] + c[j+1])
+        int j = n - 2;
+        slopes[n - 1] = slopes[j] + h[j] * (c[j] + c[j + 1]);
+    }
+
+    /**
+     * Коэффициент b[j] отрезка j по значениям y и коэффициентам c
+     */
+    double b(double[] y, double[] c, int j) {
+        return (y[j + 1] - y[j]) / h[j] - h[j] * (c[j + 1] + 2 * c[j]) / 3;
+    }
+
+    /**
+     * Коэффициент d[j] отрезка j по коэффициентам c
+     */
+    double d(double[] c, int j) {
+        return (c[j + 1] - c[j]) / (3 * h[j]);
+    }
+}
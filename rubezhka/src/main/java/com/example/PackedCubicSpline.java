@@ -0,0 +1,75 @@
+package com.example;
+
+/**
+ * Кубический сплайн с упакованными коэффициентами: для каждого отрезка i
+ * подряд лежат x[i], a[i], b[i], c[i], d[i], поэтому после поиска отрезка
+ * вычисление читает одну запись вместо пяти разных массивов.
+ *
+ * Поиск отрезка идет по отдельному компактному массиву узлов - так двоичный
+ * поиск затрагивает меньше строк кэша, чем при шаге в целую запись.
+ *
+ * В режиме float32 коэффициенты a, b, c, d хранятся во float (узлы остаются
+ * в double, чтобы не терять точность в dx) - записи вдвое меньше ценой
+ * относительной точности порядка 1e-7.
+ */
+public class PackedCubicSpline {
+    private static final int STRIDE = 5;
+    private static final int FLOAT_STRIDE = 4;
+
+    private final double[] x;
+    private final SegmentLocator locator;
+    private final double[] packed;      // записи (x, a, b, c, d) в double или null
+    private final float[] packedFloat;  // записи (a, b, c, d) во float или null
+
+    PackedCubicSpline(double[] x, double[] a, double[] b, double[] c, double[] d, boolean float32) {
+        int segments = x.length - 1;
+        this.x = x;
+        this.locator = new SegmentLocator(x);
+
+        if (float32) {
+            packed = null;
+            packedFloat = new float[segments * FLOAT_STRIDE];
+            for (int i = 0; i < segments; i++) {
+                int k = i * FLOAT_STRIDE;
+                packedFloat[k] = (float) a[i];
+                packedFloat[k + 1] = (float) b[i];
+                packedFloat[k + 2] = (float) c[i];
+                packedFloat[k + 3] = (float) d[i];
+            }
+        } else {
+            packedFloat = null;
+            packed = new double[segments * STRIDE];
+            for (int i = 0; i < segments; i++) {
+                int k = i * STRIDE;
+                packed[k] = x[i];
+                packed[k + 1] = a[i];
+                packed[k + 2] = b[i];
+                packed[k + 3] = c[i];
+                packed[k + 4] = d[i];
+            }
+        }
+    }
+
+    /**
+     * @return true, если коэффициенты хранятся во float
+     */
+    public boolean isFloat32() {
+        return packedFloat != null;
+    }
+
+    /**
+     * Вычисляет значение сплайна в точке xi
+     */
+    public double interpolate(double xi) {
+        int i = locator.find(xi);
+        if (packed != null) {
+            int k = i * STRIDE;
+            double dx = xi - packed[k];
+            return packed[k + 1] + packed[k + 2] * dx + packed[k + 3] * dx * dx + packed[k + 4] * dx * dx * dx;
+        }
+        int k = i * FLOAT_STRIDE;
+        double dx = xi - x[i];
+        return packedFloat[k] + packedFloat[k + 1] * dx + packedFloat[k + 2] * dx * dx
+                + packedFloat[k + 3] * dx * dx * dx;
+    }
+}
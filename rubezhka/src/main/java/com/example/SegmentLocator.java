@@ -0,0 +1,87 @@
+package com.example;
+
+/**
+ * Поиск отрезка сетки x[0] < x[1] < ... < x[n-1], содержащего точку.
+ *
+ * Точка xi относится к отрезку i, если x[i] < xi <= x[i+1] (к первому отрезку
+ * также относится xi = x[0]). Точки левее x[0] относятся к первому отрезку,
+ * правее x[n-1] - к последнему.
+ *
+ * Для равномерной сетки номер вычисляется арифметически за O(1),
+ * иначе - двоичным поиском за O(log n).
+ */
+final class SegmentLocator {
+    private final double[] x;
+    private final boolean uniform;
+    private final double x0;
+    private final double invStep;
+
+    SegmentLocator(double[] x) {
+        int n = x.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("Нужно хотя бы два узла");
+        }
+        this.x = x;
+        this.x0 = x[0];
+
+        // Проверка равномерности сетки
+        double length = x[n - 1] - x[0];
+        double step = length / (n - 1);
+        boolean isUniform = step > 0;
+        for (int i = 1; i < n && isUniform; i++) {
+            isUniform = Math.abs(x[i] - (x0 + i * step)) <= 1e-12 * Math.abs(length);
+        }
+        this.uniform = isUniform;
+        this.invStep = isUniform ? 1 / step : 0;
+    }
+
+    boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * @return номер отрезка (0..n-2), содержащего xi
+     */
+    int find(double xi) {
+        int n = x.length;
+        int k; // первый узел с x[k] >= xi
+
+        if (uniform) {
+            double guess = Math.ceil((xi - x0) * invStep);
+            k = guess <= 0 ? 0 : guess >= n ? n : (int) guess;
+            // Поправка на погрешность округления
+            while (k > 0 && x[k - 1] >= xi) k--;
+            while (k < n && x[k] < xi) k++;
+        } else {
+            int lo = 0;
+            int hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (x[mid] < xi) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            k = lo;
+        }
+
+        return Math.min(Math.max(k - 1, 0), n - 2);
+    }
+
+    /**
+     * То же, что {@link #find(double)}, но сначала проверяет отрезок hint и его
+     * соседей - для близких последовательных запросов это O(1).
+     */
+    int find(double xi, int hint) {
+        if (contains(hint, xi)) return hint;
+        if (contains(hint + 1, xi)) return hint + 1;
+        if (contains(hint - 1, xi)) return hint - 1;
+        return find(xi);
+    }
+
+    private boolean contains(int i, double xi) {
+        int last = x.length - 2;
+        return i >= 0 && i <= last && (i == 0 || x[i] < xi) && (i == last || xi <= x[i + 1]);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Сглаживающий кубический сплайн Райнша для зашумленных данных.
+ *
+ * Минимизируется sum (y[i] - g(x[i]))^2 + lambda * integral(g''(t)^2 dt).
+ * Решение - естественный кубический сплайн, вторые производные gamma которого
+ * во внутренних узлах находятся из пятидиагональной симметричной системы
+ * (R + lambda * Q^T Q) gamma = Q^T y, а значения в узлах - g = y - lambda * Q gamma.
+ * Система решается разложением LDL^T за O(n).
+ *
+ * При lambda = 0 получается обычный интерполяционный сплайн, при больших lambda -
+ * прямая регрессии.
+ */
+public final class SmoothingSpline {
+    /** Максимальное число отрезков, объединяемых при прореживании узлов */
+    private static final int MAX_THINNING_SPAN = 64;
+
+    private SmoothingSpline() {
+    }
+
+    /**
+     * Строит сглаживающий сплайн.
+     *
+     * @param x узлы (строго возрастают, не меньше трех)
+     * @param y зашумленные значения
+     * @param lambda параметр сглаживания (>= 0)
+     * @return естественный кубический сплайн по сглаженным значениям
+     */
+    public static CubicSpline fit(double[] x, double[] y, double lambda) {
+        int n = x.length;
+        double[] g = new double[n];
+        double[] gamma = new double[n];
+        smooth(x, y, lambda, g, gamma);
+        return fromSecondDerivatives(x, g, gamma);
+    }
+
+    /**
+     * Строит сглаживающий сплайн и прореживает узлы: узел отбрасывается, если
+     * кубический многочлен Эрмита между оставленными соседями (по значениям и
+     * производным сглаженного сплайна) воспроизводит в нем сглаженное значение
+     * с точностью tolerance. Результат - C1-сплайн на меньшем числе отрезков.
+     *
+     * @param tolerance допустимое отклонение в отброшенных узлах
+     */
+    public static CubicSpline fit(double[] x, double[] y, double lambda, double tolerance) {
+        int n = x.length;
+        double[] g = new double[n];
+        double[] gamma = new double[n];
+        smooth(x, y, lambda, g, gamma);
+
+        // Производные сглаженного сплайна в узлах (gamma = S'')
+        double[] slopes = new double[n];
+        for (int j = 0; j < n - 1; j++) {
+            double h = x[j + 1] - x[j];
+            slopes[j] = (g[j + 1] - g[j]) / h - h * (2 * gamma[j] + gamma[j + 1]) / 6;
+        }
+        double hLast = x[n - 1] - x[n - 2];
+        slopes[n - 1] = (g[n - 1] - g[n - 2]) / hLast + hLast * (gamma[n - 2] + 2 * gamma[n - 1]) / 6;
+
+        // Жадный выбор узлов
+        int[] kept = new int[n];
+        int count = 0;
+        kept[count++] = 0;
+        int anchor = 0;
+        while (anchor < n - 1) {
+            int best = anchor + 1;
+            for (int candidate = anchor + 2; candidate < n && candidate - anchor <= MAX_THINNING_SPAN; candidate++) {
+                if (!fitsHermite(x, g, slopes, anchor, candidate, tolerance)) {
+                    break;
+                }
+                best = candidate;
+            }
+            kept[count++] = best;
+            anchor = best;
+        }
+
+        // Многочлены Эрмита на оставленных отрезках
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] a = new double[count - 1], b = new double[count - 1];
+        double[] c = new double[count], d = new double[count - 1];
+        for (int k = 0; k < count; k++) {
+            xs[k] = x[kept[k]];
+            ys[k] = g[kept[k]];
+        }
+        for (int k = 0; k < count - 1; k++) {
+            int i = kept[k];
+            int j = kept[k + 1];
+            double h = x[j] - x[i];
+            double slope = (g[j] - g[i]) / h;
+            a[k] = g[i];
+            b[k] = slopes[i];
+            c[k] = (3 * slope - 2 * slopes[i] - slopes[j]) / h;
+            d[k] = (slopes[i] + slopes[j] - 2 * slope) / (h * h);
+        }
+        return new CubicSpline(xs, ys, a, b, c, d);
+    }
+
+    /**
+     * Проверяет, что многочлен Эрмита на [x[from], x[to]] проходит через
+     * сглаженные значения во всех промежуточных узлах с точностью tolerance.
+     */
+    private static boolean fitsHermite(double[] x, double[] g, double[] slopes, int from, int to, double tolerance) {
+        double h = x[to] - x[from];
+        for (int k = from + 1; k < to; k++) {
+            double t = (x[k] - x[from]) / h;
+            double t2 = t * t;
+            double t3 = t2 * t;
+            double value = (2 * t3 - 3 * t2 + 1) * g[from] + (t3 - 2 * t2 + t) * h * slopes[from]
+                    + (-2 * t3 + 3 * t2) * g[to] + (t3 - t2) * h * slopes[to];
+            if (Math.abs(value - g[k]) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Вычисляет сглаженные значения g и вторые производные gamma в узлах
+     * (gamma[0] = gamma[n-1] = 0).
+     */
+    static void smooth(double[] x, double[] y, double lambda, double[] g, double[] gamma) {
+        int n = x.length;
+        if (n < 3 || y.length != n) {
+            throw new IllegalArgumentException("Неверные размерности массивов");
+        }
+        if (lambda < 0) {
+            throw new IllegalArgumentException("Параметр сглаживания должен быть >= 0");
+        }
+
+        double[] h = new double[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            h[i] = x[i + 1] - x[i];
+            if (!(h[i] > 0)) {
+                throw new IllegalArgumentException("Узлы должны возрастать");
+            }
+        }
+
+        // Внутренние узлы k = 1..n-2, неизвестная gamma[k] - индекс k-1 системы.
+        // Столбец k матрицы Q: 1/h[k-1], -1/h[k-1] - 1/h[k], 1/h[k] в строках k-1, k, k+1
+        int m = n - 2;
+        double[] diag = new double[m];  // главная диагональ
+        double[] off1 = new double[m];  // первая наддиагональ
+        double[] off2 = new double[m];  // вторая наддиагональ
+        double[] rhs = new double[m];
+        for (int r = 0; r < m; r++) {
+            int k = r + 1;
+            double qm = 1 / h[k - 1];
+            double q0 = -1 / h[k - 1] - 1 / h[k];
+            double qp = 1 / h[k];
+
+            diag[r] = (h[k - 1] + h[k]) / 3 + lambda * (qm * qm + q0 * q0 + qp * qp);
+            if (r + 1 < m) {
+                // Столбцы k и k+1 пересекаются в строках k и k+1
+                double nm = 1 / h[k];
+                double n0 = -1 / h[k] - 1 / h[k + 1];
+                off1[r] = h[k] / 6 + lambda * (q0 * nm + qp * n0);
+            }
+            if (r + 2 < m) {
+                // Столбцы k и k+2 пересекаются в строке k+1
+                off2[r] = lambda * qp / h[k + 1];
+            }
+            rhs[r] = qm * y[k - 1] + q0 * y[k] + qp * y[k + 1];
+        }
+
+        // Разложение LDL^T пятидиагональной матрицы (на месте diag, off1, off2)
+        for (int r = 0; r < m; r++) {
+            double dr = diag[r];
+            if (r >= 1) dr -= off1[r - 1] * off1[r - 1] * diag[r - 1];
+            if (r >= 2) dr -= off2[r - 2] * off2[r - 2] * diag[r - 2];
+            if (Math.abs(dr) < 1e-300) {
+                throw new ArithmeticException("Деление на ноль. Метод не применим.");
+            }
+            diag[r] = dr;
+            if (r + 1 < m) {
+                double e = off1[r];
+                if (r >= 1) e -= off1[r - 1] * off2[r - 1] * diag[r - 1];
+                off1[r] = e / dr;
+            }
+            if (r + 2 < m) {
+                off2[r] /= dr;
+            }
+        }
+
+        // L z = rhs, D w = z, L^T gamma = w
+        for (int r = 0; r < m; r++) {
+            if (r >= 1) rhs[r] -= off1[r - 1] * rhs[r - 1];
+            if (r >= 2) rhs[r] -= off2[r - 2] * rhs[r - 2];
+        }
+        for (int r = 0; r < m; r++) {
+            rhs[r] /= diag[r];
+        }
+        for (int r = m - 1; r >= 0; r--) {
+            if (r + 1 < m) rhs[r] -= off1[r] * rhs[r + 1];
+            if (r + 2 < m) rhs[r] -= off2[r] * rhs[r + 2];
+        }
+
+        Arrays.fill(gamma, 0);
+        System.arraycopy(rhs, 0, gamma, 1, m);
+
+        // g = y - lambda * Q gamma
+        for (int i = 0; i < n; i++) {
+            double qGamma = 0;
+            if (i >= 2) qGamma += gamma[i - 1] / h[i - 1];
+            if (i >= 1 && i <= n - 2) qGamma += gamma[i] * (-1 / h[i - 1] - 1 / h[i]);
+            if (i + 1 <= n - 2) qGamma += gamma[i + 1] / h[i];
+            g[i] = y[i] - lambda * qGamma;
+        }
+    }
+
+    /**
+     * Естественный кубический сплайн по значениям g и вторым производным gamma в узлах
+     */
+    private static CubicSpline fromSecondDerivatives(double[] x, double[] g, double[] gamma) {
+        int n = x.length;
+        double[] a = new double[n - 1], b = new double[n - 1], c = new double[n], d = new double[n - 1];
+        for (int j = 0; j < n; j++) {
+            c[j] = gamma[j] / 2;
+        }
+        for (int j = 0; j < n - 1; j++) {
+            double h = x[j + 1] - x[j];
+            a[j] = g[j];
+            b[j] = (g[j + 1] - g[j]) / h - h * (c[j + 1] + 2 * c[j]) / 3;
+            d[j] = (c[j + 1] - c[j]) / (3 * h);
+        }
+        return new CubicSpline(x, g, a, b, c, d);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Сравнение скорости вычисления сплайна при разном расположении коэффициентов:
+ * отдельные массивы (CubicSpline), упакованные записи double и float.
+ */
+public class SplineBenchmark {
+    /** Сумма всех вычисленных значений: печатается в конце, чтобы циклы замеров не были удалены JIT */
+    private static double checksum;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        Random random = new Random(42);
+
+        // Неравномерная сетка, чтобы поиск шел двоичным методом
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 1; i < n; i++) {
+            x[i] = x[i - 1] + 0.5 + random.nextDouble();
+        }
+        for (int i = 0; i < n; i++) {
+            y[i] = Math.sin(x[i] * 0.01) + 0.1 * random.nextDouble();
+        }
+
+        CubicSpline spline = new CubicSpline(x, y);
+        PackedCubicSpline packed = spline.pack(false);
+        PackedCubicSpline packedFloat = spline.pack(true);
+
+        double[] randomPoints = new double[queries];
+        for (int k = 0; k < queries; k++) {
+            randomPoints[k] = x[n - 1] * random.nextDouble();
+        }
+        double[] sequentialPoints = randomPoints.clone();
+        Arrays.sort(sequentialPoints);
+
+        System.out.println("=== Расположение коэффициентов сплайна ===");
+        System.out.printf("Узлов: %d, запросов: %d%n%n", n, queries);
+        System.out.printf("%-25s %-25s %-25s%n", "хранение", "случайные, млн/с", "по порядку, млн/с");
+
+        double maxError = 0;
+        for (int k = 0; k < queries; k += 97) {
+            maxError = Math.max(maxError, Math.abs(packedFloat.interpolate(randomPoints[k])
+                    - spline.interpolate(randomPoints[k])));
+        }
+
+        for (int repeat = 0; repeat < 2; repeat++) {
+            report("раздельные массивы", spline::interpolate, randomPoints, sequentialPoints);
+            report("упакованные double", packed::interpolate, randomPoints, sequentialPoints);
+            report("упакованные float", packedFloat::interpolate, randomPoints, sequentialPoints);
+            System.out.println();
+        }
+        System.out.printf("Макс. отличие float от double: %.2e%n", maxError);
+        System.out.printf("Контрольная сумма: %.6e%n", checksum);
+    }
+
+    private static void report(String name, DoubleUnaryOperator spline,
+                               double[] randomPoints, double[] sequentialPoints) {
+        System.out.printf("%-25s %-25.2f %-25.2f%n", name,
+                rate(spline, randomPoints), rate(spline, sequentialPoints));
+    }
+
+    /**
+     * @return миллионов вычислений в секунду
+     */
+    private static double rate(DoubleUnaryOperator spline, double[] points) {
+        double sum = 0;
+        long start = System.nanoTime();
+        for (double point : points) {
+            sum += spline.applyAsDouble(point);
+        }
+        long time = System.nanoTime() - start;
+        checksum += sum;
+        return points.length / (time / 1e3);
+    }
+}
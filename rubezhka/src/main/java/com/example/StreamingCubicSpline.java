@@ -0,0 +1,158 @@
+package com.example;
+
+/**
+ * Естественный кубический сплайн для потоковых данных: узлы добавляются
+ * по одному в конец, хранится скользящее окно последних узлов.
+ *
+ * Прямой ход прогонки по системе на c при добавлении узла продлевается на один шаг.
+ * Обратный ход идет от нового конца влево и останавливается, как только изменение
+ * c[j] не превышает tolerance: влияние нового узла затухает примерно в 3.7 раза
+ * на каждом отрезке, поэтому пересчитывается O(log(1/tolerance)) отрезков,
+ * и добавление в среднем стоит O(1). При tolerance = 0 результат совпадает
+ * с полным построением {@link CubicSpline} по всем узлам.
+ *
+ * Значения в узлах интерполируются точно при любой tolerance; отличие от
+ * полного решения сказывается только на производных в точке остановки
+ * и имеет порядок tolerance.
+ */
+public class StreamingCubicSpline {
+    private final int window;
+    private final double tolerance;
+
+    // Кольцевой буфер заменен сдвигом: массивы вдвое больше окна,
+    // при заполнении последние window узлов переносятся в начало.
+    private final double[] x, y, mu, z, b, c, d;
+    private int start; // первый узел окна
+    private int end;   // за последним узлом
+    private long total; // сколько узлов добавлено всего
+
+    /**
+     * @param window сколько последних узлов хранить (не меньше 4)
+     * @param tolerance допустимое отклонение коэффициентов c от полного решения
+     */
+    public StreamingCubicSpline(int window, double tolerance) {
+        if (window < 4 || tolerance < 0) {
+            throw new IllegalArgumentException("Неверные параметры сплайна");
+        }
+        this.window = window;
+        this.tolerance = tolerance;
+        int capacity = 2 * window;
+        x = new double[capacity];
+        y = new double[capacity];
+        mu = new double[capacity];
+        z = new double[capacity];
+        b = new double[capacity];
+        c = new double[capacity];
+        d = new double[capacity];
+    }
+
+    /**
+     * Добавляет узел (xi, yi); xi должен быть больше последнего узла.
+     */
+    public void append(double xi, double yi) {
+        if (end > start && !(xi > x[end - 1])) {
+            throw new IllegalArgumentException("Узлы должны возрастать");
+        }
+        if (end == x.length) {
+            compact();
+        }
+
+        int m = end++;
+        x[m] = xi;
+        y[m] = yi;
+        total++;
+        mu[m] = 0;
+        z[m] = 0;
+        c[m] = 0;
+        start = Math.max(start, end - window);
+        if (total == 1) {
+            return;
+        }
+
+        // Продление прямого хода: бывший последний узел p становится внутренним
+        int p = m - 1;
+        double h = x[m] - x[p];
+        if (total > 2) {
+            double hPrev = x[p] - x[p - 1];
+            double alpha = (3 / h) * (y[m] - y[p]) - (3 / hPrev) * (y[p] - y[p - 1]);
+            double l = 2 * (x[m] - x[p - 1]) - hPrev * mu[p - 1];
+            mu[p] = h / l;
+            z[p] = (alpha - hPrev * z[p - 1]) / l;
+        }
+
+        // Обратный ход от нового конца, пока изменения заметны
+        for (int j = p; j >= start; j--) {
+            double newC = z[j] - mu[j] * c[j + 1];
+            boolean converged = j < p && Math.abs(newC - c[j]) <= tolerance;
+            if (!converged) {
+                c[j] = newC;
+            }
+            updateSegment(j);
+            if (converged) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Пересчитывает b, d отрезка j; значения в обоих узлах интерполируются точно
+     */
+    private void updateSegment(int j) {
+        double h = x[j + 1] - x[j];
+        b[j] = (y[j + 1] - y[j]) / h - h * (c[j + 1] + 2 * c[j]) / 3;
+        d[j] = (c[j + 1] - c[j]) / (3 * h);
+    }
+
+    /**
+     * Переносит последние window узлов в начало массивов
+     */
+    private void compact() {
+        int shift = end - window;
+        for (double[] array : new double[][]{x, y, mu, z, b, c, d}) {
+            System.arraycopy(array, shift, array, 0, window);
+        }
+        start = Math.max(start - shift, 0);
+        end = window;
+    }
+
+    /**
+     * @return число узлов в окне
+     */
+    public int size() {
+        return end - start;
+    }
+
+    public double firstKnot() {
+        return x[start];
+    }
+
+    public double lastKnot() {
+        return x[end - 1];
+    }
+
+    /**
+     * Вычисляет значение сплайна в точке xi внутри окна
+     * (вне окна - продолжение крайнего многочлена).
+     */
+    public double interpolate(double xi) {
+        if (size() < 2) {
+            throw new IllegalStateException("Нужно хотя бы два узла");
+        }
+
+        // Первый узел окна с x[k] >= xi
+        int lo = start;
+        int hi = end;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (x[mid] < xi) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int i = Math.min(Math.max(lo - 1, start), end - 2);
+
+        double dx = xi - x[i];
+        return y[i] + b[i] * dx + c[i] * dx * dx + d[i] * dx * dx * dx;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторное вычисление многочленов сплайна для пакета точек (jdk.incubator.vector).
+ *
+ * Класс загружается только при наличии модуля jdk.incubator.vector,
+ * иначе {@link CubicSpline} использует скалярный цикл с теми же формулами.
+ */
+final class VectorSplineKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorSplineKernel() {
+    }
+
+    /**
+     * Вычисляет out[k] для k = from..to-1, отрезок точки k - segments[k - from].
+     * В строгом режиме порядок операций совпадает с {@link CubicSpline#interpolate(double)},
+     * поэтому результат совпадает побитово; иначе используется схема Горнера с FMA.
+     *
+     * @return номер первой точки, не обработанной векторно (хвост считается скалярно)
+     */
+    static int evaluate(double[] x, double[] a, double[] b, double[] c, double[] d,
+                        double[] xs, int[] segments, double[] out, int from, int to, boolean strict) {
+        int lanes = SPECIES.length();
+        int count = to - from;
+        int bound = from + SPECIES.loopBound(count);
+
+        for (int k = from; k < bound; k += lanes) {
+            int map = k - from;
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, k)
+                    .sub(DoubleVector.fromArray(SPECIES, x, 0, segments, map));
+            DoubleVector av = DoubleVector.fromArray(SPECIES, a, 0, segments, map);
+            DoubleVector bv = DoubleVector.fromArray(SPECIES, b, 0, segments, map);
+            DoubleVector cv = DoubleVector.fromArray(SPECIES, c, 0, segments, map);
+            DoubleVector dv = DoubleVector.fromArray(SPECIES, d, 0, segments, map);
+
+            DoubleVector result;
+            if (strict) {
+                // a + b*dx + c*dx*dx + d*dx*dx*dx
+                result = av.add(bv.mul(dx))
+                        .add(cv.mul(dx).mul(dx))
+                        .add(dv.mul(dx).mul(dx).mul(dx));
+            } else {
+                // a + dx*(b + dx*(c + dx*d))
+                result = dv.fma(dx, cv).fma(dx, bv).fma(dx, av);
+            }
+            result.intoArray(out, k);
+        }
+        return bound;
+    }
+}